@@ -0,0 +1,117 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tree.MultiQueue;
+
+import java.util.Random;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发优先队列的基准测试，对比MultiQueue严格模式、宽松模式和JDK的PriorityBlockingQueue
+ * 队列中预先放入size个元素，每次调用插入一个再取出一个，队列大小基本不变
+ * JMH的-t只能指定一个线程数，main方法依次用1~64个线程运行：
+ * java -cp target/benchmarks.jar benchmark.ConcurrentQueueBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentQueueBenchmark {
+
+    static final int OPS = 1 << 12;
+
+    static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    @Param({"100000"})
+    int size;
+
+    MultiQueue<Integer> strictQueue;
+
+    MultiQueue<Integer> relaxedQueue;
+
+    PriorityBlockingQueue<Integer> blockingQueue;
+
+    Integer[] values = new Integer[OPS];
+
+    @Setup
+    public void setup() {
+        strictQueue = new MultiQueue<>(true);
+        relaxedQueue = new MultiQueue<>(false);
+        blockingQueue = new PriorityBlockingQueue<>(size, (x, y) -> y.compareTo(x));
+        Random random = new Random(Distribution.SEED);
+        for (int i = 0; i < size; i++) {
+            Integer value = random.nextInt();
+            strictQueue.add(value);
+            relaxedQueue.add(value);
+            blockingQueue.add(value);
+        }
+        for (int i = 0; i < OPS; i++) {
+            values[i] = random.nextInt();
+        }
+    }
+
+    /**
+     * 每个线程各自的位置
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int op;
+
+        @Setup
+        public void setup() {
+            op = (int) (Thread.currentThread().getId() * 31) & (OPS - 1);
+        }
+
+        int next() {
+            op = (op + 1) & (OPS - 1);
+            return op;
+        }
+    }
+
+    @Benchmark
+    public Integer strictAddPoll(Cursor cursor) {
+        strictQueue.add(values[cursor.next()]);
+        return strictQueue.poll();
+    }
+
+    @Benchmark
+    public Integer relaxedAddPoll(Cursor cursor) {
+        relaxedQueue.add(values[cursor.next()]);
+        return relaxedQueue.poll();
+    }
+
+    @Benchmark
+    public Integer blockingQueueAddPoll(Cursor cursor) {
+        blockingQueue.add(values[cursor.next()]);
+        return blockingQueue.poll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(ConcurrentQueueBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tree.ConcurrentRBTree;
+import tree.RBTree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发有序集合的基准测试，对比ConcurrentRBTree和加锁的RBTree
+ * contains单独测试时用-t指定读线程数，观察吞吐随线程数的变化；
+ * mixed组7个读线程和1个写线程同时运行，写线程删除一个键再插回，集合大小不变，可用-tg调整线程数
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentSetBenchmark {
+
+    static final int OPS = 1 << 12;
+
+    @Param({"1000000"})
+    int size;
+
+    ConcurrentRBTree<Integer> concurrentTree;
+
+    RBTree<Integer> lockedTree;
+
+    Integer[] keys;
+
+    @Setup
+    public void setup() {
+        int[] sorted = new int[size];
+        concurrentTree = new ConcurrentRBTree<>();
+        for (int i = 0; i < size; i++) {
+            sorted[i] = 2 * i;
+            concurrentTree.add(sorted[i]);
+        }
+        lockedTree = RBTree.fromSorted(sorted);
+        Random random = new Random(Distribution.SEED);
+        keys = new Integer[OPS];
+        for (int i = 0; i < OPS; i++) {
+            keys[i] = random.nextInt(size) * 2;
+        }
+    }
+
+    /**
+     * 每个线程各自的查询位置
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int op;
+
+        @Setup
+        public void setup() {
+            op = (int) (Thread.currentThread().getId() * 31) & (OPS - 1);
+        }
+
+        int next() {
+            op = (op + 1) & (OPS - 1);
+            return op;
+        }
+    }
+
+    @Benchmark
+    public boolean concurrentContains(Cursor cursor) {
+        return concurrentTree.contains(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public boolean lockedContains(Cursor cursor) {
+        synchronized (lockedTree) {
+            return lockedTree.contains(keys[cursor.next()]);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public boolean mixedContains(Cursor cursor) {
+        return concurrentTree.contains(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedRemoveAdd(Cursor cursor) {
+        Integer key = keys[cursor.next()];
+        concurrentTree.remove(key);
+        concurrentTree.add(key);
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import linear.Array;
+import linear.IntArray;
+
+import java.util.Random;
+
+/**
+ * 基准测试的输入数据分布
+ * 覆盖排序算法的典型最好、最坏情况：随机、已排序、逆序、少量重复值、风琴管(先升后降)
+ */
+public enum Distribution {
+
+    RANDOM {
+        @Override
+        int value(int i, int size, Random random) {
+            return random.nextInt(size);
+        }
+    },
+    SORTED {
+        @Override
+        int value(int i, int size, Random random) {
+            return i;
+        }
+    },
+    REVERSED {
+        @Override
+        int value(int i, int size, Random random) {
+            return size - i;
+        }
+    },
+    FEW_UNIQUE {
+        @Override
+        int value(int i, int size, Random random) {
+            return random.nextInt(FEW_UNIQUE_BOND);
+        }
+    },
+    ORGAN_PIPE {
+        @Override
+        int value(int i, int size, Random random) {
+            return i < size / 2 ? i : size - i;
+        }
+    };
+
+    /**
+     * 少量重复值时的取值范围
+     */
+    static final int FEW_UNIQUE_BOND = 16;
+
+    /**
+     * 固定种子，保证每次运行的输入一致
+     */
+    static final long SEED = 42L;
+
+    abstract int value(int i, int size, Random random);
+
+    /**
+     * 生成指定大小的整型数组
+     * @param size
+     * @return
+     */
+    public Array<Integer> gen(int size) {
+        Random random = new Random(SEED);
+        Array<Integer> array = new Array<>(size);
+        for (int i = 0; i < size; i++) {
+            array.insert(value(i, size, random));
+        }
+        return array;
+    }
+
+    /**
+     * 生成指定大小的int数组，与gen的数据一致
+     * @param size
+     * @return
+     */
+    public IntArray genInts(int size) {
+        Random random = new Random(SEED);
+        IntArray array = new IntArray(size);
+        for (int i = 0; i < size; i++) {
+            array.insert(value(i, size, random));
+        }
+        return array;
+    }
+}
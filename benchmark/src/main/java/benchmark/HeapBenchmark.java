@@ -0,0 +1,91 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tree.IndexedHeap;
+import tree.MaxHeap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 堆的基准测试，对比二叉MaxHeap和不同d的IndexedHeap
+ * 堆中预先放入size个元素，每次调用插入一个再取出最大值，堆大小不变；changeKey随机修改一个元素的优先级
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HeapBenchmark {
+
+    static final int OPS = 1 << 12;
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    @Param({"2", "4", "8"})
+    int d;
+
+    MaxHeap<Integer> maxHeap;
+
+    IndexedHeap<Integer> indexedHeap;
+
+    int[] handles;
+
+    Integer[] values = new Integer[OPS];
+
+    int op;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(Distribution.SEED);
+        maxHeap = new MaxHeap<>(size + 1);
+        indexedHeap = new IndexedHeap<>(d, size + 1);
+        handles = new int[size];
+        for (int i = 0; i < size; i++) {
+            Integer value = random.nextInt();
+            maxHeap.add(value);
+            handles[i] = indexedHeap.add(value);
+        }
+        for (int i = 0; i < OPS; i++) {
+            values[i] = random.nextInt();
+        }
+    }
+
+    private int next() {
+        op = (op + 1) & (OPS - 1);
+        return op;
+    }
+
+    @Benchmark
+    public Integer maxHeapAddExtract() {
+        maxHeap.add(values[next()]);
+        return maxHeap.extractMax();
+    }
+
+    @Benchmark
+    public Integer indexedHeapAddExtract() {
+        indexedHeap.add(values[next()]);
+        return indexedHeap.extractMax();
+    }
+
+    @Benchmark
+    public void indexedHeapChangeKey() {
+        int i = next();
+        int handle = handles[(int) ((values[i] & 0xffffffffL) % size)];
+        if (indexedHeap.contains(handle)){
+            indexedHeap.changeKey(handle, values[i]);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import comparesort.HeapSort;
+import comparesort.MergeSort;
+import comparesort.QuickSort;
+import comparesort.Shellsort;
+import linear.IntArray;
+import noncomparesort.CountSort;
+import noncomparesort.LsdSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O(nlogn)级别排序的int数组版本基准测试，与SortBenchmark对比装箱开销
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IntSortBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    IntArray source;
+
+    IntArray array;
+
+    @Setup(Level.Trial)
+    public void genSource() {
+        source = distribution.genInts(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void copySource() {
+        array = new IntArray(source, source.getSize());
+    }
+
+    @Benchmark
+    public IntArray quickSort() {
+        QuickSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public IntArray quickSort2() {
+        QuickSort.solution2(array);
+        return array;
+    }
+
+    @Benchmark
+    public IntArray quickSort3() {
+        QuickSort.solution3(array);
+        return array;
+    }
+
+    @Benchmark
+    public IntArray heapSort() {
+        HeapSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public IntArray mergeSort() {
+        MergeSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public IntArray shellSort() {
+        Shellsort.solution(array);
+        return array;
+    }
+
+    /**
+     * 所有分布的取值都在[0,size]内
+     */
+    @Benchmark
+    public IntArray countSort() {
+        CountSort.solution(array, size + 1);
+        return array;
+    }
+
+    @Benchmark
+    public IntArray lsdSort() {
+        LsdSort.solution(array);
+        return array;
+    }
+}
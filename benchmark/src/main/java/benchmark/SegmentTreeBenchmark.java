@@ -0,0 +1,106 @@
+package benchmark;
+
+import linear.Array;
+import linear.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tree.IntSegmentTree;
+import tree.SegmentTree;
+import tree.SparseTable;
+import utils.IntMerger;
+import utils.MinMerger;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 区间最小值查询和单点修改的基准测试，静态数据的查询同时对比SparseTable
+ * 查询区间和修改位置预先随机生成，每次调用取下一个
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SegmentTreeBenchmark {
+
+    static final int OPS = 1 << 12;
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    SegmentTree<Integer> segmentTree;
+
+    IntSegmentTree intSegmentTree;
+
+    SparseTable sparseTable;
+
+    int[] lefts = new int[OPS];
+
+    int[] rights = new int[OPS];
+
+    int[] values = new int[OPS];
+
+    int op;
+
+    @Setup
+    public void setup() {
+        Array<Integer> array = Distribution.RANDOM.gen(size);
+        IntArray ints = Distribution.RANDOM.genInts(size);
+        segmentTree = new SegmentTree<>(array, new MinMerger());
+        intSegmentTree = new IntSegmentTree(ints, IntMerger.MIN);
+        sparseTable = new SparseTable(ints);
+        Random random = new Random(Distribution.SEED);
+        for (int i = 0; i < OPS; i++) {
+            int l = random.nextInt(size);
+            lefts[i] = l;
+            rights[i] = l + random.nextInt(size - l);
+            values[i] = random.nextInt(size);
+        }
+    }
+
+    private int next() {
+        op = (op + 1) & (OPS - 1);
+        return op;
+    }
+
+    @Benchmark
+    public Integer segmentTreeQuery() {
+        int i = next();
+        return segmentTree.query(lefts[i], rights[i]);
+    }
+
+    @Benchmark
+    public int intSegmentTreeQuery() {
+        int i = next();
+        return intSegmentTree.query(lefts[i], rights[i]);
+    }
+
+    @Benchmark
+    public int sparseTableQuery() {
+        int i = next();
+        return sparseTable.query(lefts[i], rights[i]);
+    }
+
+    @Benchmark
+    public void segmentTreeSet() {
+        int i = next();
+        segmentTree.set(lefts[i], values[i]);
+    }
+
+    @Benchmark
+    public void intSegmentTreeSet() {
+        int i = next();
+        intSegmentTree.set(lefts[i], values[i]);
+    }
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import comparesort.BubbleSort;
+import comparesort.InsertSort;
+import comparesort.SelectSort;
+import linear.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O(n^2)级别排序的基准测试
+ * 数据规模比SortBenchmark小，避免单次调用耗时过长
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimpleSortBenchmark {
+
+    @Param({"100", "5000"})
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    Array<Integer> source;
+
+    Array<Integer> array;
+
+    @Setup(Level.Trial)
+    public void genSource() {
+        source = distribution.gen(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void copySource() {
+        array = new Array<>(source, source.getSize());
+    }
+
+    @Benchmark
+    public Array<Integer> insertSort() {
+        InsertSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> selectSort() {
+        SelectSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> bubbleSort() {
+        BubbleSort.solution(array);
+        return array;
+    }
+}
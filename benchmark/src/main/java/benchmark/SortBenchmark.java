@@ -0,0 +1,106 @@
+package benchmark;
+
+import comparesort.HeapSort;
+import comparesort.MergeSort;
+import comparesort.QuickSort;
+import comparesort.Shellsort;
+import linear.Array;
+import noncomparesort.CountSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O(nlogn)级别排序的基准测试
+ * 每次调用前复制一份原始数据，保证每次排序的输入相同
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    Array<Integer> source;
+
+    Array<Integer> array;
+
+    @Setup(Level.Trial)
+    public void genSource() {
+        source = distribution.gen(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void copySource() {
+        array = new Array<>(source, source.getSize());
+    }
+
+    @Benchmark
+    public Array<Integer> quickSort() {
+        QuickSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> quickSort2() {
+        QuickSort.solution2(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> quickSort3() {
+        QuickSort.solution3(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> heapSort() {
+        HeapSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> mergeSort() {
+        MergeSort.solution(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> parallelMergeSort() {
+        MergeSort.parallelSolution(array);
+        return array;
+    }
+
+    @Benchmark
+    public Array<Integer> shellSort() {
+        Shellsort.solution(array);
+        return array;
+    }
+
+    /**
+     * 所有分布的取值都在[0,size]内
+     */
+    @Benchmark
+    public Array<Integer> countSort() {
+        CountSort.solution(array, size + 1);
+        return array;
+    }
+}
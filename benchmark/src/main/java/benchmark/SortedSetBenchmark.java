@@ -0,0 +1,111 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tree.AvlTree;
+import tree.BPlusTree;
+import tree.RBTree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有序集合查找和插入删除的基准测试，对比二叉平衡树和B+树
+ * 集合中为[0,2*size)内的偶数，查找键在[0,2*size)内随机，约一半命中；插入删除用奇数键，先插入再删除，集合大小不变
+ * RBTree的删除不做平衡，只参与查找测试
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class SortedSetBenchmark {
+
+    static final int OPS = 1 << 12;
+
+    @Param({"100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"16", "64"})
+    int order;
+
+    AvlTree<Integer> avlTree;
+
+    RBTree<Integer> rbTree;
+
+    BPlusTree bPlusTree;
+
+    int[] keys = new int[OPS];
+
+    int op;
+
+    @Setup
+    public void setup() {
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = 2 * i;
+        }
+        avlTree = AvlTree.fromSorted(sorted);
+        rbTree = RBTree.fromSorted(sorted);
+        bPlusTree = new BPlusTree(order);
+        for (int i = 0; i < size; i++) {
+            bPlusTree.add(sorted[i]);
+        }
+        Random random = new Random(Distribution.SEED);
+        for (int i = 0; i < OPS; i++) {
+            keys[i] = random.nextInt(2 * size);
+        }
+    }
+
+    private int next() {
+        op = (op + 1) & (OPS - 1);
+        return keys[op];
+    }
+
+    @Benchmark
+    public boolean avlTreeContains() {
+        return avlTree.contains(next());
+    }
+
+    @Benchmark
+    public boolean rbTreeContains() {
+        return rbTree.contains(next());
+    }
+
+    @Benchmark
+    public boolean bPlusTreeContains() {
+        return bPlusTree.contains(next());
+    }
+
+    @Benchmark
+    public Integer avlTreeAddRemove() {
+        int key = next() | 1;
+        avlTree.add(key);
+        return avlTree.remove(key);
+    }
+
+    @Benchmark
+    public boolean bPlusTreeAddRemove() {
+        int key = next() | 1;
+        bPlusTree.add(key);
+        return bPlusTree.remove(key);
+    }
+
+    @Benchmark
+    public int bPlusTreeRange() {
+        int lo = next();
+        int[] count = new int[1];
+        bPlusTree.range(lo, lo + 200, k -> count[0]++);
+        return count[0];
+    }
+}
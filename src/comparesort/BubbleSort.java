@@ -1,6 +1,7 @@
 package comparesort;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 /**
@@ -13,16 +14,45 @@ public class BubbleSort {
 
     public static <E extends Comparable> void solution(Array<E> array){
 
-        E value = null;
+        // 直接访问底层数组，下标都在[0,size)内，不再逐次检查
+        Object[] data = array.rawData();
+        int size = array.getSize();
+        Object value = null;
         boolean isSort = true;//某一次循环没有任何替换，则说明后面全部已排序，则不需要再遍历
-        for (int i = 0; i < array.getSize(); i++) {
+        for (int i = 0; i < size; i++) {
             isSort = true;
-            for (int j = 0; j < array.getSize() - i - 1; j++) {
+            for (int j = 0; j < size - i - 1; j++) {
                 //两两比较，逆序则替换，每次轮询a[0,n-i)未排序，a[n-i,n)已排序
-                if(array.get(j).compareTo(array.get(j+1)) > 0){
-                    value = array.get(j);
-                    array.set(j,array.get(j+1));
-                    array.set(j+1, value);
+                if(((E) data[j]).compareTo(data[j+1]) > 0){
+                    value = data[j];
+                    data[j] = data[j+1];
+                    data[j+1] = value;
+                    isSort = false;
+                }
+            }
+            if (isSort){
+                break;
+            }
+        }
+    }
+
+    /**
+     * int数组版本，避免装箱
+     * @param array
+     */
+    public static void solution(IntArray array){
+
+        int[] data = array.rawData();
+        int size = array.getSize();
+        int value;
+        boolean isSort;
+        for (int i = 0; i < size; i++) {
+            isSort = true;
+            for (int j = 0; j < size - i - 1; j++) {
+                if(data[j] > data[j+1]){
+                    value = data[j];
+                    data[j] = data[j+1];
+                    data[j+1] = value;
                     isSort = false;
                 }
             }
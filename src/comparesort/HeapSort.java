@@ -0,0 +1,75 @@
+package comparesort;
+
+import linear.Array;
+import linear.IntArray;
+import tree.MaxHeap;
+import utils.ArrayUtils;
+
+/**
+ * 堆排序
+ * 原地把数组调整为最大堆(Floyd建堆O(n))，再依次把堆顶最大值换到末尾，堆大小-1后堆顶下沉
+ * 循环不变量：a[0,i)是最大堆，a[i,n)是已排序的且是最终位置
+ * 最坏也是O(nlogn)，额外空间O(1)，不稳定
+ */
+public class HeapSort {
+
+    public static <E extends Comparable> void solution(Array<E> array){
+        sort(array.rawData(), 0, array.getSize() - 1);
+    }
+
+    public static void solution(IntArray array){
+        sort(array.rawData(), 0, array.getSize() - 1);
+    }
+
+    /**
+     * 区间[l,r]排序
+     * @param data
+     * @param l
+     * @param r
+     */
+    public static void sort(Object[] data, int l, int r){
+        int n = r - l + 1;
+        if (n <= 1){
+            return;
+        }
+        MaxHeap.heapify(data, l, n);
+        for (int i = n - 1; i > 0; i--) {
+            ArrayUtils.swap(data, l, l + i);
+            MaxHeap.siftDown(data, l, 0, i);
+        }
+    }
+
+    /**
+     * int数组区间[l,r]排序
+     * @param data
+     * @param l
+     * @param r
+     */
+    public static void sort(int[] data, int l, int r){
+        int n = r - l + 1;
+        if (n <= 1){
+            return;
+        }
+        MaxHeap.heapify(data, l, n);
+        for (int i = n - 1; i > 0; i--) {
+            ArrayUtils.swap(data, l, l + i);
+            MaxHeap.siftDown(data, l, 0, i);
+        }
+    }
+
+    public static void main(String[] args) {
+        Array<Integer> array = ArrayUtils.genRandomIntArray(1000000, 1000000);
+        long start = System.currentTimeMillis();
+        solution(array);
+        long end = System.currentTimeMillis();
+        System.out.println("HeapSort:" + (end - start));
+        ArrayUtils.checkOrder(array);
+
+        IntArray array1 = ArrayUtils.genRandomInts(1000000, 1000000);
+        start = System.currentTimeMillis();
+        solution(array1);
+        end = System.currentTimeMillis();
+        System.out.println("HeapSort(int):" + (end - start));
+        ArrayUtils.checkOrder(array1);
+    }
+}
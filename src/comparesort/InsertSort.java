@@ -1,6 +1,7 @@
 package comparesort;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 /**
@@ -13,13 +14,15 @@ public class InsertSort {
 
     public static <E extends Comparable> void solution(Array<E> array){
 
-        E value = null;
+        // 直接访问底层数组，下标都在[0,size)内，不再逐次检查
+        Object[] data = array.rawData();
+        Object value = null;
         int k = 0;
         for (int i = 1; i < array.getSize(); i++) {
             k = i;
             for (int j = i-1; j >= 0; j--) {
                 //比较自己前面所有元素，依次记录大于自己的元素下标
-                if (array.get(i).compareTo(array.get(j)) <= 0){
+                if (((E) data[i]).compareTo(data[j]) <= 0){
                     k = j;
                 }else {
                     //第一个小于自己的元素则不再处理
@@ -28,14 +31,31 @@ public class InsertSort {
             }
             if (k!=i){
                 //将自己插入到最后一个比自己大的元素前面，需要该元素到自己期间元素后移
-                System.out.println(k+"----"+i);
-                value = array.get(i);
-                for (int j = i; j > k; j--) {
-                    array.set(j,array.get(j-1));
-                }
+                value = data[i];
+                System.arraycopy(data, k, data, k+1, i-k);
                 //将自己插入到最后一个比自己大的元素位置
-                array.set(k, value);
+                data[k] = value;
+            }
+        }
+    }
+
+    /**
+     * int数组版本，避免装箱
+     * 比较和后移合并在一次循环中完成
+     * @param array
+     */
+    public static void solution(IntArray array){
+
+        int[] data = array.rawData();
+        int value;
+        int j;
+        for (int i = 1; i < array.getSize(); i++) {
+            value = data[i];
+            // 大于自己的元素依次后移，直到第一个不大于自己的元素
+            for (j = i; j > 0 && data[j-1] > value; j--) {
+                data[j] = data[j-1];
             }
+            data[j] = value;
         }
     }
 
@@ -1,9 +1,12 @@
 package comparesort;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * 归并排序
@@ -16,20 +19,19 @@ public class MergeSort {
     public static <E extends Comparable> void solution(Array<E> array){
 
 //        Array<E> temp = new Array(array,array.getSize());
-        Comparable[] temp = new Comparable[array.getSize()];
-        System.out.println("temp::::" + temp);
-        sort(array,0,array.getSize()-1,temp);
+        // 直接访问底层数组，下标都在[0,size)内，不再逐次检查
+        Object[] temp = new Object[array.getSize()];
+        sort(array.rawData(),0,array.getSize()-1,temp);
     }
 
     /**
      * 上往下，已一层层分解，再合并
-     * @param array
+     * @param array 底层数组
      * @param l
      * @param r
      * @param temp
-     * @param <E>
      */
-    private static <E extends Comparable> void sort(Array<E> array, int l, int r, Comparable[] temp) {
+    private static void sort(Object[] array, int l, int r, Object[] temp) {
 
         //最小递归
         if (l >= r){
@@ -43,24 +45,24 @@ public class MergeSort {
         merge(array,l, mid, r,temp);
     }
 
-    private static <E extends Comparable> void merge(Array<E> array, int l, int mid, int r,Comparable[] temp) {
+    private static void merge(Object[] array, int l, int mid, int r,Object[] temp) {
         //临时空间存在合并前顺序，用于比较和取值
-        ArrayUtils.copyCompare(array, l, temp, l, r-l+1);
+        System.arraycopy(array, l, temp, l, r-l+1);
         int j = l;
         int k = mid+1;
         for (int i = 0; i <= r-l; i++) {
             if (j>mid){//左边排完，则只用右边
-                array.set(l+i, (E)(temp[k]));
+                array[l+i] = temp[k];
                 k++;
             }else if (k>r){//右边排完，则只用左边
-                array.set(l+i, (E)(temp[j]));
+                array[l+i] = temp[j];
                 j++;
             }else //左边大，则用右边，右边进位，必须使用合并前数组中数据进行比较
-                if (temp[j].compareTo(temp[k])>=0) {
-                    array.set(l + i, (E)(temp[k]));
+                if (((Comparable) temp[j]).compareTo(temp[k])>=0) {
+                    array[l + i] = temp[k];
                     k++;
             }else{//右边大，则用左边，左边进位
-                array.set(l+i, (E)(temp[j]));
+                array[l+i] = temp[j];
                 j++;
             }
         }
@@ -74,12 +76,230 @@ public class MergeSort {
 //        System.out.println(stringBuffer);
     }
 
+    /**
+     * 并行排序默认串行阈值，区间长度不超过该值时直接串行排序或合并
+     */
+    public static final int DEFAULT_CUTOFF = 1 << 13;
+
+    /**
+     * 并行归并排序，使用ForkJoinPool公共池
+     * @param array
+     * @param <E>
+     */
+    public static <E extends Comparable> void parallelSolution(Array<E> array){
+        parallelSolution(array, DEFAULT_CUTOFF);
+    }
+
+    /**
+     * 并行归并排序
+     * 左右两半并行排序，合并时也按中位元素拆分为两个独立的子合并并行处理，最后几层合并不再是串行瓶颈
+     * 与串行版本一样共享一个temp，各任务只读写自己区间，互不重叠
+     * @param array
+     * @param cutoff 串行阈值，区间长度不超过该值时退化为串行
+     * @param <E>
+     */
+    public static <E extends Comparable> void parallelSolution(Array<E> array, int cutoff){
+        if (cutoff < 1){
+            throw new IllegalArgumentException("cutoff < 1");
+        }
+        if (array.getSize() <= 1){
+            return;
+        }
+        Object[] temp = new Object[array.getSize()];
+        ForkJoinPool.commonPool().invoke(new SortTask(array.rawData(), 0, array.getSize()-1, temp, cutoff));
+    }
+
+    /**
+     * 并行排序任务，对array[l,r]排序
+     */
+    private static class SortTask extends RecursiveAction {
+        final Object[] array;
+        final int l;
+        final int r;
+        final Object[] temp;
+        final int cutoff;
+
+        SortTask(Object[] array, int l, int r, Object[] temp, int cutoff){
+            this.array = array;
+            this.l = l;
+            this.r = r;
+            this.temp = temp;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (r - l + 1 <= cutoff){
+                sort(array, l, r, temp);
+                return;
+            }
+            int mid = l + (r - l) / 2;
+            invokeAll(new SortTask(array, l, mid, temp, cutoff),
+                    new SortTask(array, mid+1, r, temp, cutoff));
+            // 两半已有序，复制到temp后从temp并行合并回array
+            System.arraycopy(array, l, temp, l, r-l+1);
+            new MergeTask(temp, l, mid, mid+1, r, array, l, cutoff).compute();
+        }
+    }
+
+    /**
+     * 并行合并任务，将src[l1,r1]和src[l2,r2]两个有序区间合并到dest[d,...]
+     * 取较长区间的中位元素x，在另一区间二分查找x的位置，x的最终位置随之确定，两侧成为互不相关的子合并
+     * 相等元素总是左区间在前，合并是稳定的
+     */
+    private static class MergeTask extends RecursiveAction {
+        final Object[] src;
+        final int l1;
+        final int r1;
+        final int l2;
+        final int r2;
+        final Object[] dest;
+        final int d;
+        final int cutoff;
+
+        MergeTask(Object[] src, int l1, int r1, int l2, int r2, Object[] dest, int d, int cutoff){
+            this.src = src;
+            this.l1 = l1;
+            this.r1 = r1;
+            this.l2 = l2;
+            this.r2 = r2;
+            this.dest = dest;
+            this.d = d;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int len1 = r1 - l1 + 1;
+            int len2 = r2 - l2 + 1;
+            if (len1 + len2 <= cutoff){
+                mergeTo(src, l1, r1, l2, r2, dest, d);
+                return;
+            }
+            int m1;
+            int m2;
+            if (len1 >= len2){
+                // 左区间中位元素，右区间中严格小于它的元素排在它前面
+                m1 = l1 + (r1 - l1) / 2;
+                m2 = lowerBound(src, l2, r2, (Comparable) src[m1]);
+                int pos = d + (m1 - l1) + (m2 - l2);
+                dest[pos] = src[m1];
+                invokeAll(new MergeTask(src, l1, m1-1, l2, m2-1, dest, d, cutoff),
+                        new MergeTask(src, m1+1, r1, m2, r2, dest, pos+1, cutoff));
+            }else{
+                // 右区间中位元素，左区间中小于等于它的元素排在它前面
+                m2 = l2 + (r2 - l2) / 2;
+                m1 = upperBound(src, l1, r1, (Comparable) src[m2]);
+                int pos = d + (m1 - l1) + (m2 - l2);
+                dest[pos] = src[m2];
+                invokeAll(new MergeTask(src, l1, m1-1, l2, m2-1, dest, d, cutoff),
+                        new MergeTask(src, m1, r1, m2+1, r2, dest, pos+1, cutoff));
+            }
+        }
+    }
+
+    /**
+     * 串行合并两个有序区间到dest，相等时取左区间
+     */
+    private static void mergeTo(Object[] src, int l1, int r1, int l2, int r2, Object[] dest, int d) {
+        while (l1 <= r1 && l2 <= r2){
+            if (((Comparable) src[l1]).compareTo(src[l2]) <= 0){
+                dest[d++] = src[l1++];
+            }else{
+                dest[d++] = src[l2++];
+            }
+        }
+        if (l1 <= r1){
+            System.arraycopy(src, l1, dest, d, r1 - l1 + 1);
+        }else if (l2 <= r2){
+            System.arraycopy(src, l2, dest, d, r2 - l2 + 1);
+        }
+    }
+
+    /**
+     * 区间[l,r]中第一个大于等于value的下标，不存在则返回r+1
+     */
+    private static int lowerBound(Object[] src, int l, int r, Comparable value) {
+        int hi = r + 1;
+        while (l < hi){
+            int mid = l + (hi - l) / 2;
+            if (value.compareTo(src[mid]) > 0){
+                l = mid + 1;
+            }else{
+                hi = mid;
+            }
+        }
+        return l;
+    }
+
+    /**
+     * 区间[l,r]中第一个大于value的下标，不存在则返回r+1
+     */
+    private static int upperBound(Object[] src, int l, int r, Comparable value) {
+        int hi = r + 1;
+        while (l < hi){
+            int mid = l + (hi - l) / 2;
+            if (value.compareTo(src[mid]) >= 0){
+                l = mid + 1;
+            }else{
+                hi = mid;
+            }
+        }
+        return l;
+    }
+
+    /**
+     * int数组版本，避免装箱
+     * @param array
+     */
+    public static void solution(IntArray array){
+        int[] temp = new int[array.getSize()];
+        sort(array.rawData(), 0, array.getSize()-1, temp);
+    }
+
+    private static void sort(int[] array, int l, int r, int[] temp) {
+
+        if (l >= r){
+            return;
+        }
+
+        int mid = l + (r - l) / 2;
+
+        sort(array, l, mid, temp);
+        sort(array, mid+1, r, temp);
+        merge(array, l, mid, r, temp);
+    }
+
+    private static void merge(int[] array, int l, int mid, int r, int[] temp) {
+        System.arraycopy(array, l, temp, l, r-l+1);
+        int j = l;
+        int k = mid+1;
+        for (int i = l; i <= r; i++) {
+            if (j > mid){
+                array[i] = temp[k++];
+            }else if (k > r){
+                array[i] = temp[j++];
+            }else if (temp[j] > temp[k]){
+                array[i] = temp[k++];
+            }else{
+                array[i] = temp[j++];
+            }
+        }
+    }
+
     public static void main (String[]args){
         Array array = ArrayUtils.genRandomIntArray(1000000, 100000);
         System.out.println(array);
         solution(array);
         System.out.println(array);
         ArrayUtils.checkOrder(array);
+
+        Array array1 = ArrayUtils.genRandomIntArray(1000000, 100000);
+        long start = System.currentTimeMillis();
+        parallelSolution(array1);
+        long end = System.currentTimeMillis();
+        System.out.println("parallel:" + (end - start));
+        ArrayUtils.checkOrder(array1);
     }
 
 }
@@ -1,6 +1,7 @@
 package comparesort;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 import java.util.Random;
@@ -18,17 +19,17 @@ public class QuickSort {
 
     public static <E extends Comparable> void solution(Array<E> array){
 
-        quickOne(array,0,array.getSize()-1);
+        // 直接访问底层数组，下标都在[0,size)内，不再逐次检查
+        quickOne(array.rawData(),0,array.getSize()-1);
     }
 
     /**
      * 单路排序
-     * @param array
+     * @param array 底层数组
      * @param l
      * @param r
-     * @param <E>
      */
-    private static <E extends Comparable> void quickOne(Array<E> array, int l, int r) {
+    private static void quickOne(Object[] array, int l, int r) {
         if (l >= r){
             return;
         }
@@ -41,21 +42,21 @@ public class QuickSort {
      * 单路排序逻辑
      * 数据越分散，分片越均匀，递归次数越少，速度越快，相反亦然
      * 使用一个游标k将数组划分为两部分，左边小l+1~k，右边未排序k+1~r
-     * @param array
+     * @param array 底层数组
      * @param l
      * @param r
-     * @param <E>
      * @return
      */
-    private static <E extends Comparable> int quick1(Array<E> array, int l, int r) {
+    private static int quick1(Object[] array, int l, int r) {
         // 随机获取下标，并与区间其实位置替换
         int index = random.nextInt(r-l) + l;
         ArrayUtils.swap(array, l, index);
 
+        Comparable pivot = (Comparable) array[l];
         int k = l;
         // 排序过程中，循环不变量：l+1~k 小于，k+1~r乱序
         for (int i = l+1; i <= r; i++) {
-            if (array.get(l).compareTo(array.get(i)) > 0){
+            if (pivot.compareTo(array[i]) > 0){
                 k++;
                 ArrayUtils.swap(array, k, i);
             }
@@ -66,18 +67,17 @@ public class QuickSort {
     }
 
     public static <E extends Comparable> void solution2(Array<E> array){
-        quickTwo(array,0,array.getSize()-1);
+        quickTwo(array.rawData(),0,array.getSize()-1);
     }
 
     /**
      * 双路排序
      *
-     * @param array
+     * @param array 底层数组
      * @param l
      * @param r
-     * @param <E>
      */
-    private static <E extends Comparable> void quickTwo(Array<E> array, int l, int r) {
+    private static void quickTwo(Object[] array, int l, int r) {
         if (l >= r){
             return;
         }
@@ -91,27 +91,27 @@ public class QuickSort {
      * 支持数据不分散情况下快速排序
      * 使用两个游标k，j将数组划分为三部分，两坐标相向移动，左边小l+1~k-1，中间未排序k~j，右边大j-1~r，量指针碰撞则结束
      * 注，对于相等的情况，需两坐标元素和数据都相等时，同时移动，减少数据倾斜，提高效率
-     * @param array
+     * @param array 底层数组
      * @param l
      * @param r
-     * @param <E>
      * @return
      */
-    private static <E extends Comparable> int quick2(Array<E> array, int l, int r) {
+    private static int quick2(Object[] array, int l, int r) {
         // 随机获取下标，并与区间其实位置替换
         int index = random.nextInt(r-l+1) + l;
         ArrayUtils.swap(array, l, index);
 
+        Comparable pivot = (Comparable) array[l];
         int k = l+1;
         int j = r;
         // 指针相碰则结束排序
         while (true) {
             // 前坐标小，则后移，直到大
-            while (k<=j && array.get(l).compareTo(array.get(k)) > 0){
+            while (k<=j && pivot.compareTo(array[k]) > 0){
                 k++;
             }
             // 后坐标大，则迁移，直到小
-            while (k <= j && array.get(l).compareTo(array.get(j)) < 0){
+            while (k <= j && pivot.compareTo(array[j]) < 0){
                 j--;
             }
             //前后坐标碰撞，则结束
@@ -130,6 +130,295 @@ public class QuickSort {
         return j;
     }
 
+    /**
+     * 小区间阈值，区间长度不超过该值时使用插入排序
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    /**
+     * 区间长度超过该值时使用ninther(三个三数中值的中值)选主元，否则使用三数取中
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * 三路排序(内省排序)
+     * 三路划分处理大量重复数据，三数取中/ninther选主元，小区间插入排序
+     * 递归深度超过2logn时说明划分持续失衡，剩余区间改用原地堆排序HeapSort，保证最坏O(nlogn)
+     * @param array
+     * @param <E>
+     */
+    public static <E extends Comparable> void solution3(Array<E> array){
+        int n = array.getSize();
+        if (n <= 1){
+            return;
+        }
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        quickThree(array.rawData(), 0, n-1, depthLimit);
+    }
+
+    /**
+     * 三路排序
+     * 只递归较短的一侧，较长的一侧循环处理，栈深度不超过O(logn)
+     * @param array 底层数组
+     * @param l
+     * @param r
+     * @param depth 剩余可划分深度，为0时改用堆排序
+     */
+    private static void quickThree(Object[] array, int l, int r, int depth) {
+        while (r - l + 1 > INSERTION_THRESHOLD){
+            if (depth == 0){
+                HeapSort.sort(array, l, r);
+                return;
+            }
+            depth--;
+
+            ArrayUtils.swap(array, l, choosePivot(array, l, r));
+            Comparable pivot = (Comparable) array[l];
+
+            // 循环不变量：a[l,lt)<v，a[lt,i)==v，a[i,gt]未处理，a(gt,r]>v
+            int lt = l;
+            int i = l+1;
+            int gt = r;
+            while (i <= gt){
+                int cmp = ((Comparable) array[i]).compareTo(pivot);
+                if (cmp < 0){
+                    ArrayUtils.swap(array, lt, i);
+                    lt++;
+                    i++;
+                }else if (cmp > 0){
+                    ArrayUtils.swap(array, i, gt);
+                    gt--;
+                }else{
+                    i++;
+                }
+            }
+
+            // 等于主元的a[lt,gt]已在最终位置
+            if (lt - l < r - gt){
+                quickThree(array, l, lt-1, depth);
+                l = gt+1;
+            }else{
+                quickThree(array, gt+1, r, depth);
+                r = lt-1;
+            }
+        }
+        insertSort(array, l, r);
+    }
+
+    /**
+     * 选主元下标
+     * @param array
+     * @param l
+     * @param r
+     * @return
+     */
+    private static int choosePivot(Object[] array, int l, int r) {
+        int mid = l + (r - l) / 2;
+        if (r - l + 1 > NINTHER_THRESHOLD){
+            int s = (r - l + 1) / 8;
+            return median(array,
+                    median(array, l, l + s, l + 2*s),
+                    median(array, mid - s, mid, mid + s),
+                    median(array, r - 2*s, r - s, r));
+        }
+        return median(array, l, mid, r);
+    }
+
+    /**
+     * 三个下标中值为中间值的下标
+     */
+    private static int median(Object[] array, int a, int b, int c) {
+        Comparable va = (Comparable) array[a];
+        Comparable vb = (Comparable) array[b];
+        Comparable vc = (Comparable) array[c];
+        if (va.compareTo(vb) < 0){
+            if (vb.compareTo(vc) < 0){
+                return b;
+            }
+            return va.compareTo(vc) < 0 ? c : a;
+        }
+        if (va.compareTo(vc) < 0){
+            return a;
+        }
+        return vb.compareTo(vc) < 0 ? c : b;
+    }
+
+    /**
+     * 区间插入排序
+     */
+    private static void insertSort(Object[] array, int l, int r) {
+        for (int i = l+1; i <= r; i++) {
+            Object value = array[i];
+            int j;
+            for (j = i; j > l && ((Comparable) array[j-1]).compareTo(value) > 0; j--) {
+                array[j] = array[j-1];
+            }
+            array[j] = value;
+        }
+    }
+
+    /**
+     * int数组版本，单路排序
+     * @param array
+     */
+    public static void solution(IntArray array){
+        quickOne(array.rawData(),0,array.getSize()-1);
+    }
+
+    private static void quickOne(int[] array, int l, int r) {
+        if (l >= r){
+            return;
+        }
+        int index = quick1(array,l,r);
+        quickOne(array,l, index-1);
+        quickOne(array,index+1, r);
+    }
+
+    private static int quick1(int[] array, int l, int r) {
+        int index = random.nextInt(r-l) + l;
+        ArrayUtils.swap(array, l, index);
+
+        int pivot = array[l];
+        int k = l;
+        for (int i = l+1; i <= r; i++) {
+            if (pivot > array[i]){
+                k++;
+                ArrayUtils.swap(array, k, i);
+            }
+        }
+        ArrayUtils.swap(array, k, l);
+        return k;
+    }
+
+    /**
+     * int数组版本，双路排序
+     * @param array
+     */
+    public static void solution2(IntArray array){
+        quickTwo(array.rawData(),0,array.getSize()-1);
+    }
+
+    private static void quickTwo(int[] array, int l, int r) {
+        if (l >= r){
+            return;
+        }
+        int index = quick2(array,l,r);
+        quickTwo(array,l, index-1);
+        quickTwo(array,index+1, r);
+    }
+
+    private static int quick2(int[] array, int l, int r) {
+        int index = random.nextInt(r-l+1) + l;
+        ArrayUtils.swap(array, l, index);
+
+        int pivot = array[l];
+        int k = l+1;
+        int j = r;
+        while (true) {
+            while (k <= j && pivot > array[k]){
+                k++;
+            }
+            while (k <= j && pivot < array[j]){
+                j--;
+            }
+            if (k > j) {
+                break;
+            }
+            ArrayUtils.swap(array, k, j);
+            k++;
+            j--;
+        }
+        ArrayUtils.swap(array, l, j);
+        return j;
+    }
+
+    /**
+     * int数组版本，三路排序(内省排序)
+     * @param array
+     */
+    public static void solution3(IntArray array){
+        int n = array.getSize();
+        if (n <= 1){
+            return;
+        }
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        quickThree(array.rawData(), 0, n-1, depthLimit);
+    }
+
+    private static void quickThree(int[] array, int l, int r, int depth) {
+        while (r - l + 1 > INSERTION_THRESHOLD){
+            if (depth == 0){
+                HeapSort.sort(array, l, r);
+                return;
+            }
+            depth--;
+
+            ArrayUtils.swap(array, l, choosePivot(array, l, r));
+            int pivot = array[l];
+
+            int lt = l;
+            int i = l+1;
+            int gt = r;
+            while (i <= gt){
+                if (array[i] < pivot){
+                    ArrayUtils.swap(array, lt, i);
+                    lt++;
+                    i++;
+                }else if (array[i] > pivot){
+                    ArrayUtils.swap(array, i, gt);
+                    gt--;
+                }else{
+                    i++;
+                }
+            }
+
+            if (lt - l < r - gt){
+                quickThree(array, l, lt-1, depth);
+                l = gt+1;
+            }else{
+                quickThree(array, gt+1, r, depth);
+                r = lt-1;
+            }
+        }
+        insertSort(array, l, r);
+    }
+
+    private static int choosePivot(int[] array, int l, int r) {
+        int mid = l + (r - l) / 2;
+        if (r - l + 1 > NINTHER_THRESHOLD){
+            int s = (r - l + 1) / 8;
+            return median(array,
+                    median(array, l, l + s, l + 2*s),
+                    median(array, mid - s, mid, mid + s),
+                    median(array, r - 2*s, r - s, r));
+        }
+        return median(array, l, mid, r);
+    }
+
+    private static int median(int[] array, int a, int b, int c) {
+        if (array[a] < array[b]){
+            if (array[b] < array[c]){
+                return b;
+            }
+            return array[a] < array[c] ? c : a;
+        }
+        if (array[a] < array[c]){
+            return a;
+        }
+        return array[b] < array[c] ? c : b;
+    }
+
+    private static void insertSort(int[] array, int l, int r) {
+        for (int i = l+1; i <= r; i++) {
+            int value = array[i];
+            int j;
+            for (j = i; j > l && array[j-1] > value; j--) {
+                array[j] = array[j-1];
+            }
+            array[j] = value;
+        }
+    }
+
     public static void main(String[] args) {
 //
         Array array = ArrayUtils.genRandomIntArray(10000, 1);
@@ -149,5 +438,12 @@ public class QuickSort {
         System.out.println((end1 - start1));
 //        System.out.println(array1);
         ArrayUtils.checkOrder(array1);
+
+        Array array2 = ArrayUtils.genRandomIntArray(10000, 1);
+        long start2 = System.currentTimeMillis();
+        solution3(array2);
+        long end2 = System.currentTimeMillis();
+        System.out.println((end2 - start2));
+        ArrayUtils.checkOrder(array2);
     }
 }
@@ -1,6 +1,7 @@
 package comparesort;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 /**
@@ -13,15 +14,38 @@ public class SelectSort {
 
     public static <E extends  Comparable> void solution(Array<E> array){
 
+        // 直接访问底层数组，下标都在[0,size)内，不再逐次检查
+        Object[] data = array.rawData();
+        int size = array.getSize();
         int k = 0;
-        for (int i = 0; i < array.getSize(); i++) {
+        for (int i = 0; i < size; i++) {
             k = i;
-            for (int j = i+1; j < array.getSize(); j++) {
-                if(array.get(k).compareTo(array.get(j)) > 0){
+            for (int j = i+1; j < size; j++) {
+                if(((E) data[k]).compareTo(data[j]) > 0){
                     k = j;
                 }
             }
-            ArrayUtils.swap(array, k, i);
+            ArrayUtils.swap(data, k, i);
+        }
+    }
+
+    /**
+     * int数组版本，避免装箱
+     * @param array
+     */
+    public static void solution(IntArray array){
+
+        int[] data = array.rawData();
+        int size = array.getSize();
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            k = i;
+            for (int j = i+1; j < size; j++) {
+                if(data[k] > data[j]){
+                    k = j;
+                }
+            }
+            ArrayUtils.swap(data, k, i);
         }
     }
 
@@ -1,6 +1,7 @@
 package comparesort;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 /**
@@ -13,8 +14,10 @@ public class Shellsort {
 
     public static <E extends Comparable> void solution(Array<E> array){
 
+        // 直接访问底层数组，下标都在[0,size)内，不再逐次检查
+        Object[] data = array.rawData();
         int sz = array.getSize()>>1;
-        E value = null;
+        Object value = null;
         int i = 0;
         // 步长设计
         while (sz>=1) {
@@ -22,18 +25,18 @@ public class Shellsort {
             for (int j = 0; j <= sz; j+=sz) {
                 // 对每组数组进行插入排序
                 for (int k = j + sz; k+sz <= array.getSize(); k+=sz) {
-                    value = array.get(k);
+                    value = data[k];
                     //每个元素与前面比较，找到第一个比该元素小的下标，则退出当前元素比较
                     for (i = k; i-sz >= 0 ; i-=sz) {
-                        if (array.get(i-sz).compareTo(value) > 0 ){
-                            array.set(i, array.get(i-sz));
+                        if (((E) data[i-sz]).compareTo(value) > 0 ){
+                            data[i] = data[i-sz];
                         }else {
                             break;
                         }
                     }
                     // 当前面有必当前元素大的数据，需要做互换
                     if(k != i) {
-                        array.set(i, value);
+                        data[i] = value;
                     }
                 }
             }
@@ -58,6 +61,31 @@ public class Shellsort {
 //        }
     }
 
+    /**
+     * int数组版本，避免装箱
+     * 按步长分组，每组做插入排序，步长每轮减半
+     * @param array
+     */
+    public static void solution(IntArray array){
+
+        int[] data = array.rawData();
+        int size = array.getSize();
+        int h = size >> 1;
+        int value;
+        int j;
+        while (h >= 1) {
+            // 对 data[start, start + h, start + 2h ...] 交替进行插入排序
+            for (int i = h; i < size; i++) {
+                value = data[i];
+                for (j = i; j - h >= 0 && data[j - h] > value; j -= h) {
+                    data[j] = data[j - h];
+                }
+                data[j] = value;
+            }
+            h = h >> 1;
+        }
+    }
+
     public static void main(String[] args) {
         Array array = ArrayUtils.genRandomIntArray(10, 10);
         System.out.println(array);
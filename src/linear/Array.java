@@ -106,14 +106,23 @@ public class Array<E > {
         return data[index];
     }
 
+    /**
+     * 底层数组视图，不做索引检查，供排序等热点循环直接访问
+     * 有效数据范围[0,getSize())，下标合法性由调用方保证；插入扩容后视图失效，需重新获取
+     * 运行时类型是Object[]，不能强转为E[]
+     * @return
+     */
+    public Object[] rawData(){
+        return data;
+    }
+
     /**
      * 检查索引合法性
-     * 索引不能大于等容量或大于当前位置
+     * 索引范围[0,size)，只在失败时拼接错误信息
      */
     private void check(int index){
-        if(size <=0 || index > size){
-            System.out.println(String.format("index: %s ;data.length %s ;size: %s;",index,data.length,size));
-            throw new IllegalArgumentException("Error: index >= length or > size");
+        if(index < 0 || index >= size){
+            throw new IllegalArgumentException("Error: index < 0 or >= size, index: " + index + ", size: " + size);
         }
     }
 
@@ -0,0 +1,174 @@
+package linear;
+
+/**
+ * 浮点型动态数组
+ * 与Array接口一致，底层使用double[]存储，避免装箱，元素连续存放
+ */
+public class DoubleArray {
+
+    private double[] data ;
+
+    private int size = 0;
+
+    public DoubleArray(){
+        data = new double[10];
+    }
+
+    public DoubleArray(int length){
+        if (length <= 0){
+            throw new IllegalArgumentException("length <= 0");
+        }
+        data = new double[length];
+    }
+
+    public DoubleArray(double[] values){
+        if (values == null || values.length <= 0){
+            throw new IllegalArgumentException("values is null or empty");
+        }
+        data = values.clone();
+        size = values.length;
+    }
+
+    public DoubleArray(DoubleArray array, int sz){
+        data = new double[Math.max(sz, 1)];
+        System.arraycopy(array.data, 0, data, 0, sz);
+        size = sz;
+    }
+
+    /**
+     * 获取元素个数
+     * @return
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取数组长度
+     * @return
+     */
+    public int getLength(){
+        return data.length;
+    }
+
+    /**
+     * 更新
+     * @param value
+     * @param index 更新索引
+     */
+    public void set(int index,double value){
+        check(index);
+        data[index] = value;
+    }
+
+    /**
+     * 末尾插入数据
+     * @param value
+     */
+    public void insert(double value){
+        if (size >= data.length){
+            resize();
+        }
+        data[size] = value;
+        size++;
+    }
+
+    /**
+     * 按照2倍扩容
+     */
+    private void resize() {
+        double[] newData = new double[data.length*2];
+        System.arraycopy(data, 0, newData, 0, data.length);
+        data = newData;
+    }
+
+    /**
+     * 是否空数组
+     * @return
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * 读取任意位置数据
+     * @param index
+     * @return
+     */
+    public double get(int index){
+        check(index);
+        return data[index];
+    }
+
+    /**
+     * 底层数组视图，不做索引检查，供排序等热点循环直接访问
+     * 有效数据范围[0,getSize())，下标合法性由调用方保证；插入扩容后视图失效，需重新获取
+     * @return
+     */
+    public double[] rawData(){
+        return data;
+    }
+
+    /**
+     * 检查索引合法性
+     * 索引范围[0,size)
+     */
+    private void check(int index){
+        if(index < 0 || index >= size){
+            throw new IllegalArgumentException("Error: index < 0 or >= size, index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     *
+     * @param index
+     */
+    public void remove(int index){
+        check(index);
+        System.arraycopy(data, index+1, data, index, size-index-1);
+        size --;
+    }
+
+    public void reverse(){
+        double temp;
+        for (int i = 0; i < size / 2; i++) {
+            temp = data[i];
+            data[i] = data[size-i-1];
+            data[size-i-1] = temp;
+        }
+    }
+
+    public boolean contains(double value){
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(data[i], value) == 0){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("length-").append(data.length).append(":");
+        stringBuilder.append("size-").append(size).append("\n");
+        for (int i = 0; i < size; i++) {
+            stringBuilder.append("(").append(i).append(")").append(data[i]);
+            if (i != size-1){
+                stringBuilder.append(":");
+            }
+        }
+        return stringBuilder.toString();
+    }
+
+    public static void main(String[] args) {
+        DoubleArray array = new DoubleArray(10);
+        for (int i = 0; i < 10; i++) {
+            array.insert((double) i);
+        }
+        System.out.println(array.toString());
+        array.reverse();
+        System.out.println(array.toString());
+        System.out.println("contains:" + array.contains((double) 3));
+    }
+}
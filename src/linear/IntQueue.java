@@ -0,0 +1,136 @@
+package linear;
+
+import java.util.NoSuchElementException;
+
+/**
+ * int循环数组队列，MyQueue的基本类型版本，元素直接存放在int数组中，不装箱
+ * 数组长度是2的幂，第i个元素在(head+i)&mask，满了按2倍扩容
+ */
+public class IntQueue {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] data;
+    private int mask;
+    private int head;
+    private int size;
+
+    public IntQueue(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 初始容量，向上取整到2的幂
+     */
+    public IntQueue(int capacity){
+        if (capacity < 0){
+            throw new IllegalArgumentException("capacity < 0");
+        }
+        int length = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        data = new int[length];
+        mask = length - 1;
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * 入队
+     * @param value
+     */
+    public void offer(int value){
+        if (size == data.length){
+            resize();
+        }
+        data[(head + size) & mask] = value;
+        size ++;
+    }
+
+    /**
+     * 出队
+     * @return
+     */
+    public int poll(){
+        int value = peek();
+        head = (head + 1) & mask;
+        size --;
+        return value;
+    }
+
+    /**
+     * 队头元素
+     * @return
+     */
+    public int peek(){
+        if (size == 0){
+            throw new NoSuchElementException("queue is empty");
+        }
+        return data[head];
+    }
+
+    /**
+     * 队列中第i个元素，0是队头
+     * @param index
+     * @return
+     */
+    public int get(int index){
+        if (index < 0 || index >= size){
+            throw new IllegalArgumentException("Error: index < 0 or >= size, index: " + index + ", size: " + size);
+        }
+        return data[(head + index) & mask];
+    }
+
+    public void clear(){
+        head = 0;
+        size = 0;
+    }
+
+    private void resize() {
+        int[] newData = new int[data.length * 2];
+        int first = Math.min(size, data.length - head);
+        System.arraycopy(data, head, newData, 0, first);
+        System.arraycopy(data, 0, newData, first, size - first);
+        data = newData;
+        mask = newData.length - 1;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append("size-").append(size).append(":[");
+        for (int i = 0; i < size; i++) {
+            res.append(data[(head + i) & mask]).append(i < size - 1 ? ", " : "");
+        }
+        return res.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        IntQueue queue = new IntQueue(4);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+            if (i % 3 == 0){
+                queue.poll();
+            }
+        }
+        System.out.println(queue + ", peek:" + queue.peek());
+
+        int size = 10000000;
+        long start = System.currentTimeMillis();
+        IntQueue queue1 = new IntQueue();
+        for (int i = 0; i < size; i++) {
+            queue1.offer(i);
+        }
+        long sum = 0;
+        while (!queue1.isEmpty()){
+            sum += queue1.poll();
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("IntQueue:" + (end - start) + ", sum:" + sum);
+    }
+}
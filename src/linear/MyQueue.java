@@ -1,98 +1,337 @@
 package linear;
 
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 
-public class MyQueue implements Queue {
+/**
+ * 循环数组队列
+ * 数组长度是2的幂，队头下标head，第i个元素在(head+i)&mask，下标回绕只需按位与，不用取模和判断
+ * 满了按2倍扩容，扩容时按队列顺序复制到新数组开头，入队出队均摊O(1)
+ * 不允许null元素，poll/peek用null表示队列为空
+ * 迭代器是快速失败的，迭代过程中队列被其他方式修改时抛出ConcurrentModificationException
+ * @param <E>
+ */
+public class MyQueue<E> implements Queue<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] data;
+    private int mask;
+    private int head;
+    private int size;
+    private int modCount;// 修改次数，供迭代器检查
+
+    public MyQueue(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 初始容量，向上取整到2的幂
+     */
+    public MyQueue(int capacity){
+        if (capacity < 0){
+            throw new IllegalArgumentException("capacity < 0");
+        }
+        int length = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        data = new Object[length];
+        mask = length - 1;
+    }
+
+    private void resize() {
+        Object[] newData = new Object[data.length * 2];
+        // 按队列顺序复制：[head,length)和[0,head)
+        int first = Math.min(size, data.length - head);
+        System.arraycopy(data, head, newData, 0, first);
+        System.arraycopy(data, 0, newData, first, size - first);
+        data = newData;
+        mask = newData.length - 1;
+        head = 0;
+    }
 
     @Override
     public int size() {
-        return 0;
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return false;
+        return size == 0;
     }
 
     @Override
     public boolean contains(Object o) {
-        return false;
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * 第一个相等元素在队列中的位置，不存在返回-1
+     */
+    private int indexOf(Object o) {
+        if (o == null){
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (o.equals(data[(head + i) & mask])){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 删除队列中第i个元素，后面的元素前移
+     */
+    private void removeAt(int i) {
+        for (int j = i; j < size - 1; j++) {
+            data[(head + j) & mask] = data[(head + j + 1) & mask];
+        }
+        data[(head + size - 1) & mask] = null;
+        size --;
+        modCount ++;
     }
 
     @Override
-    public Iterator iterator() {
-        return null;
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            int cursor;// 下一个元素在队列中的位置
+            int last = -1;// 上一次返回的元素位置，已删除为-1
+            int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public E next() {
+                checkModCount();
+                if (cursor >= size){
+                    throw new NoSuchElementException();
+                }
+                last = cursor++;
+                return (E) data[(head + last) & mask];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0){
+                    throw new IllegalStateException();
+                }
+                checkModCount();
+                removeAt(last);
+                cursor = last;
+                last = -1;
+                expectedModCount = modCount;
+            }
+
+            private void checkModCount() {
+                if (expectedModCount != modCount){
+                    throw new ConcurrentModificationException();
+                }
+            }
+        };
     }
 
     @Override
     public Object[] toArray() {
-        return new Object[0];
+        Object[] res = new Object[size];
+        for (int i = 0; i < size; i++) {
+            res[i] = data[(head + i) & mask];
+        }
+        return res;
     }
 
     @Override
-    public Object[] toArray(Object[] a) {
-        return new Object[0];
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size){
+            a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        }
+        for (int i = 0; i < size; i++) {
+            a[i] = (T) data[(head + i) & mask];
+        }
+        if (a.length > size){
+            a[size] = null;
+        }
+        return a;
     }
 
+    /**
+     * 入队，容量不限，总是返回true
+     * @param e
+     * @return
+     */
     @Override
-    public boolean add(Object o) {
-        return false;
+    public boolean add(E e) {
+        return offer(e);
     }
 
     @Override
     public boolean remove(Object o) {
-        return false;
+        int i = indexOf(o);
+        if (i < 0){
+            return false;
+        }
+        removeAt(i);
+        return true;
     }
 
     @Override
-    public boolean addAll(Collection c) {
-        return false;
+    public boolean addAll(Collection<? extends E> c) {
+        if (c == this){
+            throw new IllegalArgumentException("addAll to itself");
+        }
+        for (E e : c) {
+            offer(e);
+        }
+        return !c.isEmpty();
     }
 
     @Override
     public void clear() {
+        for (int i = 0; i < size; i++) {
+            data[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount ++;
+    }
 
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return filter(c, false);
     }
 
     @Override
-    public boolean retainAll(Collection c) {
-        return false;
+    public boolean removeAll(Collection<?> c) {
+        return filter(c, true);
+    }
+
+    /**
+     * 按是否在c中过滤，保留的元素依次前移，O(n)
+     */
+    private boolean filter(Collection<?> c, boolean remove) {
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            Object e = data[(head + i) & mask];
+            if (c.contains(e) != remove){
+                data[(head + k++) & mask] = e;
+            }
+        }
+        if (k == size){
+            return false;
+        }
+        for (int i = k; i < size; i++) {
+            data[(head + i) & mask] = null;
+        }
+        size = k;
+        modCount ++;
+        return true;
     }
 
     @Override
-    public boolean removeAll(Collection c) {
-        return false;
+    public boolean containsAll(Collection<?> c) {
+        for (Object e : c) {
+            if (!contains(e)){
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
-    public boolean containsAll(Collection c) {
-        return false;
+    public boolean offer(E e) {
+        if (e == null){
+            throw new NullPointerException("element is null");
+        }
+        if (size == data.length){
+            resize();
+        }
+        data[(head + size) & mask] = e;
+        size ++;
+        modCount ++;
+        return true;
     }
 
     @Override
-    public boolean offer(Object o) {
-        return false;
+    public E remove() {
+        if (size == 0){
+            throw new NoSuchElementException("queue is empty");
+        }
+        return poll();
     }
 
     @Override
-    public Object remove() {
-        return null;
+    public E poll() {
+        if (size == 0){
+            return null;
+        }
+        E e = (E) data[head];
+        data[head] = null;
+        head = (head + 1) & mask;
+        size --;
+        modCount ++;
+        return e;
     }
 
     @Override
-    public Object poll() {
-        return null;
+    public E element() {
+        if (size == 0){
+            throw new NoSuchElementException("queue is empty");
+        }
+        return peek();
     }
 
     @Override
-    public Object element() {
-        return null;
+    public E peek() {
+        return (E) data[head];
     }
 
     @Override
-    public Object peek() {
-        return null;
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append("size-").append(size).append(":[");
+        for (int i = 0; i < size; i++) {
+            res.append(data[(head + i) & mask]).append(i < size - 1 ? ", " : "");
+        }
+        return res.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        MyQueue<Integer> queue = new MyQueue<>(4);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+            if (i % 3 == 0){
+                queue.poll();
+            }
+        }
+        System.out.println(queue);
+        queue.remove(5);
+        System.out.println(queue + ", peek:" + queue.peek() + ", contains(7):" + queue.contains(7));
+
+        int size = 10000000;
+        long start = System.currentTimeMillis();
+        MyQueue<Integer> queue1 = new MyQueue<>();
+        for (int i = 0; i < size; i++) {
+            queue1.offer(i);
+        }
+        while (!queue1.isEmpty()){
+            queue1.poll();
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("MyQueue:" + (end - start));
+
+        start = System.currentTimeMillis();
+        LinkedList<Integer> linkedList = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            linkedList.addFirst(i);
+        }
+        while (!linkedList.isEmpty()){
+            linkedList.removeTail();
+        }
+        end = System.currentTimeMillis();
+        System.out.println("LinkedList:" + (end - start));
     }
 }
@@ -1,4 +1,193 @@
 package noncomparesort;
 
+import comparesort.QuickSort;
+import linear.Array;
+import linear.IntArray;
+import utils.ArrayUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * 计数排序
+ * 适用于取值范围[0,bond)有限的整数键，统计每个键出现次数，求前缀和得到每个键在结果中的起始位置，再按原顺序放入，O(n+bond)
+ * 并行版本：数据按下标切成若干段，每段各自统计直方图，合并时按(键,段)顺序求前缀和，每段再各自放入自己的位置，结果是稳定的
+ */
 public class CountSort {
+
+    /**
+     * 数据量小于该值时不并行
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * 整数排序，取值范围[0,bond)
+     * @param array
+     * @param bond 数据边界
+     */
+    public static void solution(Array<Integer> array, int bond){
+        solution(array, bond, Integer::intValue);
+    }
+
+    /**
+     * 按键排序，用于按记录中的小整数字段排序，键相等的记录保持原有顺序
+     * @param array
+     * @param bond 键的边界，键取值范围[0,bond)
+     * @param key 键提取函数
+     * @param <E>
+     */
+    public static <E> void solution(Array<E> array, int bond, ToIntFunction<? super E> key){
+        checkBond(bond);
+        int n = array.getSize();
+        if (n <= 1){
+            return;
+        }
+        Object[] data = array.rawData();
+        int chunks = chunks(n, bond);
+        int[][] counts = new int[chunks][bond];
+
+        // 每段统计直方图
+        forEachChunk(chunks, p -> {
+            int[] count = counts[p];
+            for (int i = from(p, chunks, n), to = from(p + 1, chunks, n); i < to; i++) {
+                count[checkKey(key.applyAsInt((E) data[i]), bond)]++;
+            }
+        });
+
+        // 前缀和，counts[p][k]变为第p段键k的起始位置
+        toOffsets(counts, bond);
+
+        // 每段按原顺序放入，写入位置互不重叠
+        Object[] temp = new Object[n];
+        forEachChunk(chunks, p -> {
+            int[] offset = counts[p];
+            for (int i = from(p, chunks, n), to = from(p + 1, chunks, n); i < to; i++) {
+                temp[offset[key.applyAsInt((E) data[i])]++] = data[i];
+            }
+        });
+        System.arraycopy(temp, 0, data, 0, n);
+    }
+
+    /**
+     * int数组版本，取值范围[0,bond)
+     * 整数键本身就是值，不需要放入原数据，按每段的起始位置直接填充
+     * @param array
+     * @param bond 数据边界
+     */
+    public static void solution(IntArray array, int bond){
+        checkBond(bond);
+        int n = array.getSize();
+        if (n <= 1){
+            return;
+        }
+        int[] data = array.rawData();
+        int chunks = chunks(n, bond);
+        int[][] counts = new int[chunks][bond];
+
+        forEachChunk(chunks, p -> {
+            int[] count = counts[p];
+            for (int i = from(p, chunks, n), to = from(p + 1, chunks, n); i < to; i++) {
+                count[checkKey(data[i], bond)]++;
+            }
+        });
+
+        int[][] offsets = new int[chunks][];
+        for (int p = 0; p < chunks; p++) {
+            offsets[p] = counts[p].clone();
+        }
+        toOffsets(offsets, bond);
+
+        forEachChunk(chunks, p -> {
+            int[] count = counts[p];
+            int[] offset = offsets[p];
+            for (int k = 0; k < bond; k++) {
+                if (count[k] > 0){
+                    Arrays.fill(data, offset[k], offset[k] + count[k], k);
+                }
+            }
+        });
+    }
+
+    private static void checkBond(int bond) {
+        if (bond <= 0){
+            throw new IllegalArgumentException("bond <= 0");
+        }
+    }
+
+    private static int checkKey(int key, int bond) {
+        if (key < 0 || key >= bond){
+            throw new IllegalArgumentException("key out of range [0," + bond + "): " + key);
+        }
+        return key;
+    }
+
+    /**
+     * 分段数，不超过并行度，且所有直方图总大小不超过数据量
+     */
+    private static int chunks(int n, int bond) {
+        if (n < PARALLEL_THRESHOLD){
+            return 1;
+        }
+        int chunks = Math.min(ForkJoinPool.commonPool().getParallelism(), n / PARALLEL_THRESHOLD);
+        return Math.max(1, Math.min(chunks, n / bond));
+    }
+
+    /**
+     * 第p段的起始下标
+     */
+    private static int from(int p, int chunks, int n) {
+        return (int) ((long) n * p / chunks);
+    }
+
+    private static void forEachChunk(int chunks, IntConsumer action) {
+        if (chunks == 1){
+            action.accept(0);
+        }else{
+            IntStream.range(0, chunks).parallel().forEach(action);
+        }
+    }
+
+    /**
+     * 按键从小到大、同一键内按段顺序求前缀和，把计数替换为起始位置
+     */
+    private static void toOffsets(int[][] counts, int bond) {
+        int offset = 0;
+        for (int k = 0; k < bond; k++) {
+            for (int[] count : counts) {
+                int c = count[k];
+                count[k] = offset;
+                offset += c;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        Array<Integer> array = ArrayUtils.genRandomIntArray(1000000, 100);
+        long start = System.currentTimeMillis();
+        solution(array, 100);
+        long end = System.currentTimeMillis();
+        System.out.println("CountSort:" + (end - start));
+        ArrayUtils.checkOrder(array);
+
+        Array<Integer> array1 = ArrayUtils.genRandomIntArray(1000000, 100);
+        start = System.currentTimeMillis();
+        QuickSort.solution3(array1);
+        end = System.currentTimeMillis();
+        System.out.println("QuickSort:" + (end - start));
+
+        IntArray array2 = ArrayUtils.genRandomInts(10000000, 100);
+        start = System.currentTimeMillis();
+        solution(array2, 100);
+        end = System.currentTimeMillis();
+        System.out.println("CountSort(int):" + (end - start));
+        ArrayUtils.checkOrder(array2);
+
+        // 按个位排序，个位相同保持原有顺序
+        Array<Integer> array3 = ArrayUtils.genRandomIntArray(20, 100);
+        solution(array3, 10, v -> v % 10);
+        System.out.println(array3);
+    }
 }
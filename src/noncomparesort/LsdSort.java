@@ -1,4 +1,224 @@
 package noncomparesort;
 
+import linear.Array;
+import linear.DoubleArray;
+import linear.IntArray;
+import linear.LongArray;
+import utils.ArrayUtils;
+
+import java.util.Random;
+
+/**
+ * 低位优先基数排序
+ * 按8位一个数位，从最低位到最高位，每一位做一次稳定的计数排序，最终按整个键有序，O(w*(n+R))
+ * 一次遍历统计所有数位的直方图；某一位在所有数据中都相同时跳过该轮
+ * 所有轮次在原数组和同一个临时数组之间交替放入，每轮不再分配内存
+ */
 public class LsdSort {
+
+    private static final int BITS = 8;
+
+    private static final int RADIX = 1 << BITS;
+
+    private static final int MASK = RADIX - 1;
+
+    /**
+     * int数组排序，符号位取反后负数排在前面
+     * @param array
+     */
+    public static void solution(IntArray array){
+        sort(array.rawData(), array.getSize());
+    }
+
+    /**
+     * long数组排序
+     * @param array
+     */
+    public static void solution(LongArray array){
+        sort(array.rawData(), array.getSize());
+    }
+
+    /**
+     * double数组排序
+     * 浮点数按位映射为可比较的long：正数不变，负数除符号位外全部取反，排序后再映射回来
+     * 顺序与Double.compare一致：-0.0排在0.0前，NaN排在最后
+     * float可以转为double后使用
+     * @param array
+     */
+    public static void solution(DoubleArray array){
+        int n = array.getSize();
+        if (n <= 1){
+            return;
+        }
+        double[] data = array.rawData();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = toSortable(Double.doubleToLongBits(data[i]));
+        }
+        sort(keys, n);
+        for (int i = 0; i < n; i++) {
+            data[i] = Double.longBitsToDouble(toSortable(keys[i]));
+        }
+    }
+
+    /**
+     * 定长字符串排序，从最后一个字符到第一个字符逐位计数排序
+     * @param array
+     * @param width 字符串长度，所有字符串必须等长且字符小于256
+     */
+    public static void solution(Array<String> array, int width){
+        int n = array.getSize();
+        if (n <= 1 || width <= 0){
+            return;
+        }
+        Object[] data = array.rawData();
+        int[] counts = new int[width * RADIX];
+        for (int i = 0; i < n; i++) {
+            String value = (String) data[i];
+            if (value.length() != width){
+                throw new IllegalArgumentException("length of " + value + " != " + width);
+            }
+            for (int d = 0; d < width; d++) {
+                char c = value.charAt(d);
+                if (c >= RADIX){
+                    throw new IllegalArgumentException("char out of range [0," + RADIX + "): " + value);
+                }
+                counts[d * RADIX + c]++;
+            }
+        }
+
+        Object[] src = data;
+        Object[] dst = new Object[n];
+        for (int d = width - 1; d >= 0; d--) {
+            int base = d * RADIX;
+            if (counts[base + ((String) src[0]).charAt(d)] == n){
+                continue;
+            }
+            toOffsets(counts, base);
+            for (int i = 0; i < n; i++) {
+                dst[counts[base + ((String) src[i]).charAt(d)]++] = src[i];
+            }
+            Object[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != data){
+            System.arraycopy(src, 0, data, 0, n);
+        }
+    }
+
+    private static void sort(int[] data, int n) {
+        if (n <= 1){
+            return;
+        }
+        int passes = Integer.SIZE / BITS;
+        int[] counts = new int[passes * RADIX];
+        for (int i = 0; i < n; i++) {
+            int key = data[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass * RADIX + ((key >>> (pass * BITS)) & MASK)]++;
+            }
+        }
+
+        int[] src = data;
+        int[] dst = new int[n];
+        for (int pass = 0; pass < passes; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * BITS;
+            if (counts[base + (((src[0] ^ Integer.MIN_VALUE) >>> shift) & MASK)] == n){
+                continue;
+            }
+            toOffsets(counts, base);
+            for (int i = 0; i < n; i++) {
+                dst[counts[base + (((src[i] ^ Integer.MIN_VALUE) >>> shift) & MASK)]++] = src[i];
+            }
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != data){
+            System.arraycopy(src, 0, data, 0, n);
+        }
+    }
+
+    private static void sort(long[] data, int n) {
+        if (n <= 1){
+            return;
+        }
+        int passes = Long.SIZE / BITS;
+        int[] counts = new int[passes * RADIX];
+        for (int i = 0; i < n; i++) {
+            long key = data[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass * RADIX + (int) ((key >>> (pass * BITS)) & MASK)]++;
+            }
+        }
+
+        long[] src = data;
+        long[] dst = new long[n];
+        for (int pass = 0; pass < passes; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * BITS;
+            if (counts[base + (int) (((src[0] ^ Long.MIN_VALUE) >>> shift) & MASK)] == n){
+                continue;
+            }
+            toOffsets(counts, base);
+            for (int i = 0; i < n; i++) {
+                dst[counts[base + (int) (((src[i] ^ Long.MIN_VALUE) >>> shift) & MASK)]++] = src[i];
+            }
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != data){
+            System.arraycopy(src, 0, data, 0, n);
+        }
+    }
+
+    /**
+     * 浮点数位与可比较long互相映射，负数除符号位外取反，映射是自反的
+     */
+    private static long toSortable(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * counts[base,base+RADIX)内计数替换为起始位置
+     */
+    private static void toOffsets(int[] counts, int base) {
+        int offset = 0;
+        for (int i = base; i < base + RADIX; i++) {
+            int c = counts[i];
+            counts[i] = offset;
+            offset += c;
+        }
+    }
+
+    public static void main(String[] args) {
+        IntArray array = new IntArray(10000000);
+        Random random = new Random();
+        for (int i = 0; i < 10000000; i++) {
+            array.insert(random.nextInt());
+        }
+        long start = System.currentTimeMillis();
+        solution(array);
+        long end = System.currentTimeMillis();
+        System.out.println("LsdSort(int):" + (end - start));
+        ArrayUtils.checkOrder(array);
+
+        DoubleArray array1 = new DoubleArray(10);
+        for (int i = 0; i < 10; i++) {
+            array1.insert(random.nextGaussian() * 100);
+        }
+        solution(array1);
+        System.out.println(array1);
+
+        Array<String> array2 = new Array<>();
+        String[] codes = {"CN0312", "US0001", "CN0033", "JP2100", "CN0312", "US0000", "AA9999"};
+        for (String code : codes) {
+            array2.insert(code);
+        }
+        solution(array2, 6);
+        System.out.println(array2);
+    }
 }
@@ -1,6 +1,7 @@
 package search;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 /**
@@ -33,6 +34,29 @@ public class BinarySearch {
         }
     }
 
+    /**
+     * int数组版本，循环实现，避免装箱
+     * @param array
+     * @param value
+     * @return 下标，未找到返回-1
+     */
+    public static int solution(IntArray array, int value){
+        int l = 0;
+        int r = array.getSize()-1;
+        while (l <= r){
+            int mid = l+(r-l)/2;
+            int midValue = array.get(mid);
+            if (value > midValue){
+                l = mid+1;
+            }else if (value < midValue){
+                r = mid-1;
+            }else{
+                return mid;
+            }
+        }
+        return -1;
+    }
+
     public static void main(String[] args) {
         Array array = ArrayUtils.genOrderIntArray(11);
         System.out.println(array.toString());
@@ -1,6 +1,7 @@
 package search;
 
 import linear.Array;
+import linear.IntArray;
 import utils.ArrayUtils;
 
 /**
@@ -30,6 +31,25 @@ public class LinearSearch {
         return -1;
     }
 
+    /**
+     * int数组版本
+     * @param array
+     * @param value
+     * @return
+     */
+    public static int solutionArray(IntArray array, int value){
+        if (array == null || array.isEmpty()){
+            return -1;
+        }
+
+        for (int i = 0; i < array.getSize(); i++) {
+            if (array.get(i) == value){
+                return i;
+            }
+        }
+        return -1;
+    }
+
     public static void main(String[] args) {
         Array array = ArrayUtils.genOrderIntArray(10);
 
@@ -4,6 +4,7 @@ import linear.Array;
 import utils.ArrayUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * AVL平衡树
@@ -11,10 +12,13 @@ import java.util.ArrayList;
  * 父节点高度是左右子节点高度最大值+1
  * 平衡因子，左右子数高度差，若大于1或小于-1说明其左子树或右子树不平衡，需做旋转
  * 注：不允许插入重复数据
+ * 每个节点记录子树节点数count，支持按排名查询，rank/select/countRange都是O(logn)
+ * 有序数据可用fromSorted在O(n)内直接建成平衡树，有序的一批数据可用addAllSorted归并插入
  */
 public class AvlTree<E extends Comparable> {
     class Node{
         int height;
+        int count;// 子树节点数，含自己
         E value;
         Node left;
         Node right;
@@ -24,6 +28,7 @@ public class AvlTree<E extends Comparable> {
                 throw new IllegalArgumentException("value is null!");
             }
             height = 1;
+            count = 1;
             this.value = value;
             left = null;
             right = null;
@@ -34,6 +39,7 @@ public class AvlTree<E extends Comparable> {
                 throw new IllegalArgumentException("value is null!");
             }
             height = 1;
+            count = 1;
             this.value = value;
             this.left = left;
             this.right = right;
@@ -114,13 +120,127 @@ public class AvlTree<E extends Comparable> {
      * @param value
      */
     public void add(E value){
-        // 不允许插入重复数据
-        if (getNode(root, value)!=null){
-            return ;
-        }
         root = add(root,value);
     }
 
+    /**
+     * 由有序数据建树，O(n)
+     * 每次取区间中点作为根，左右两半递归建成左右子树，左右子树节点数最多差1，高度也最多差1
+     * @param sorted 从小到大有序，重复数据只保留一个
+     * @param <E>
+     * @return
+     */
+    public static <E extends Comparable> AvlTree<E> fromSorted(Array<E> sorted){
+        AvlTree<E> tree = new AvlTree<>();
+        Object[] data = Arrays.copyOf(sorted.rawData(), sorted.getSize());
+        int n = distinct(data, data.length);
+        tree.root = tree.build(data, 0, n - 1);
+        tree.size = n;
+        return tree;
+    }
+
+    /**
+     * 由有序int数组建树，O(n)
+     * @param sorted 从小到大有序，重复数据只保留一个
+     * @return
+     */
+    public static AvlTree<Integer> fromSorted(int[] sorted){
+        Object[] data = new Object[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            data[i] = sorted[i];
+        }
+        AvlTree<Integer> tree = new AvlTree<>();
+        int n = distinct(data, data.length);
+        tree.root = tree.build(data, 0, n - 1);
+        tree.size = n;
+        return tree;
+    }
+
+    /**
+     * 批量插入有序数据
+     * 批量较小时逐个插入，O(mlogn)；否则中序取出原有数据与批量数据归并后重新建树，O(n+m)
+     * @param sorted 从小到大有序，已存在或重复的数据不再插入
+     */
+    public void addAllSorted(Array<E> sorted){
+        int m = sorted.getSize();
+        if (m == 0){
+            return;
+        }
+        Object[] batch = sorted.rawData();
+        checkSorted(batch, m);
+        if ((long) m * (32 - Integer.numberOfLeadingZeros(size)) < size){
+            for (int i = 0; i < m; i++) {
+                add((E) batch[i]);
+            }
+            return;
+        }
+        int n = size;
+        Object[] old = new Object[n];
+        toArray(root, old, 0);
+        Object[] data = new Object[n + m];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < n || j < m){
+            if (j >= m || (i < n && ((E) old[i]).compareTo(batch[j]) <= 0)){
+                data[k++] = old[i++];
+            }else{
+                data[k++] = batch[j++];
+            }
+        }
+        k = distinct(data, k);
+        root = build(data, 0, k - 1);
+        size = k;
+    }
+
+    /**
+     * 中序遍历放入data，从下标index开始，返回下一个下标
+     */
+    private int toArray(Node node, Object[] data, int index) {
+        if (node == null){
+            return index;
+        }
+        index = toArray(node.left, data, index);
+        data[index++] = node.value;
+        return toArray(node.right, data, index);
+    }
+
+    /**
+     * 有序数据[l,r]建成平衡树
+     */
+    private Node build(Object[] data, int l, int r) {
+        if (l > r){
+            return null;
+        }
+        int mid = (l + r) >>> 1;
+        Node node = new Node((E) data[mid], build(data, l, mid - 1), build(data, mid + 1, r));
+        setHeight(node);
+        setCount(node);
+        return node;
+    }
+
+    /**
+     * 检查有序并去掉相邻重复数据，返回去重后的数据量
+     */
+    private static int distinct(Object[] data, int n) {
+        checkSorted(data, n);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (k == 0 || ((Comparable) data[k - 1]).compareTo(data[i]) != 0){
+                data[k++] = data[i];
+            }
+        }
+        return k;
+    }
+
+    private static void checkSorted(Object[] data, int n) {
+        for (int i = 1; i < n; i++) {
+            if (((Comparable) data[i - 1]).compareTo(data[i]) > 0){
+                throw new IllegalArgumentException("Error: data is not sorted at index: " + i);
+            }
+        }
+    }
+
     /**
      * 按左小右大插入
      * 若平衡因子超过1或-1，则旋转
@@ -136,14 +256,19 @@ public class AvlTree<E extends Comparable> {
             return new Node(value);
         }
 
-        if (value.compareTo(node.value) > 0){
+        // 不允许插入重复数据，已存在时树不变
+        int cmp = value.compareTo(node.value);
+        if (cmp > 0){
             node.right = add(node.right, value);
-        }else{
+        }else if (cmp < 0){
             node.left = add(node.left, value);
+        }else{
+            return node;
         }
 
         // 树高+1
         setHeight(node);
+        setCount(node);
 
         // 左边树高
         if (balanceFactor(node) > 1){
@@ -174,6 +299,14 @@ public class AvlTree<E extends Comparable> {
         root.height = getHighestChild(root) + 1;
     }
 
+    private void setCount(Node root) {
+        root.count = getCount(root.left) + getCount(root.right) + 1;
+    }
+
+    private int getCount(Node root) {
+        return root == null ? 0 : root.count;
+    }
+
     /**
      * 左旋转
      * 自己挂载到右子节点的左节点，右子节点的原左节点挂在自己的右节点
@@ -191,6 +324,8 @@ public class AvlTree<E extends Comparable> {
         root.right = childLeft;
         setHeight(root);
         setHeight(right);
+        setCount(root);
+        setCount(right);
         // 返回右子节点作为根
         return right;
     }
@@ -209,6 +344,8 @@ public class AvlTree<E extends Comparable> {
         root.left = childRight;
         setHeight(root);
         setHeight(left);
+        setCount(root);
+        setCount(left);
         // 返回左子节点作为根
         return left;
     }
@@ -272,6 +409,63 @@ public class AvlTree<E extends Comparable> {
         }
     }
 
+    /**
+     * 排名，树中小于value的元素个数
+     * 从根往下，往右走时左子树和当前节点都小于value
+     * @param value
+     * @return
+     */
+    public int rank(E value){
+        int rank = 0;
+        Node node = root;
+        while (node != null){
+            if (value.compareTo(node.value) > 0){
+                rank += getCount(node.left) + 1;
+                node = node.right;
+            }else{
+                node = node.left;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * 排名为k的元素，即第k+1小的元素，select(rank(e)) == e
+     * @param k 从0开始
+     * @return
+     */
+    public E select(int k){
+        if (k < 0 || k >= size){
+            throw new IllegalArgumentException("Error: k < 0 or >= size, k: " + k + ", size: " + size);
+        }
+        Node node = root;
+        while (true){
+            int leftCount = getCount(node.left);
+            if (k < leftCount){
+                node = node.left;
+            }else if (k > leftCount){
+                k -= leftCount + 1;
+                node = node.right;
+            }else{
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * 区间[lo,hi]内元素个数
+     * @param lo
+     * @param hi
+     * @return
+     */
+    public int countRange(E lo, E hi){
+        if (lo.compareTo(hi) > 0){
+            return 0;
+        }
+        int count = rank(hi) - rank(lo);
+        return contains(hi) ? count + 1 : count;
+    }
+
     /**
      * 删除
      * 先确定元素存在，再删除
@@ -314,22 +508,22 @@ public class AvlTree<E extends Comparable> {
                 retNode = node.right;
                 node.right = null;
                 size --;
-            }else if (node.right == node){
+            }else if (node.right == null){
                 retNode = node.left;
                 node.left = null;
                 size --;
             }else{//左右子树都存在，找到右子树最左叶子并删除，使用该叶子节点接收当前节点的左右子树
                 retNode = minimum(node.right);
 //                System.out.println(node.value+"---" + retNode);
-                retNode.right = remove(node.right,retNode.value);// 当允许重复数据时，此处会导致实际删除的节点不是最左节点
+                retNode.right = remove(node.right,retNode.value);// 当允许重复数据时，此处会导致实际删除的节点不是最左节点，递归中已size--
                 retNode.left = node.left;
                 node.right = null;
                 node.left = null;
-                size --;
             }
         }
         if (retNode != null){
-            retNode.height = getHeight(retNode);
+            setHeight(retNode);
+            setCount(retNode);
         }else{
             return null;
         }
@@ -337,10 +531,10 @@ public class AvlTree<E extends Comparable> {
         // 平衡处理
         if (balanceFactor(retNode) > 1){// 左边树高
             // 左子节点的左边子树高,做右旋
-            if (balanceFactor(retNode.left) > 0){
+            if (balanceFactor(retNode.left) >= 0){
                 return rightRotate(retNode);
             }else // 左子节点的右边子树高，先左旋再右旋
-                if (balanceFactor(retNode.left) <= 0){
+                if (balanceFactor(retNode.left) < 0){
                     retNode.left = leftRotate(retNode.left);
                     return rightRotate(retNode);
                 }
@@ -437,5 +631,22 @@ public class AvlTree<E extends Comparable> {
         System.out.println(avlTree);
         System.out.println("isBST:" + avlTree.isBST());
         System.out.println("isBalanced:" + avlTree.isBalanced());
+        System.out.println("rank(2):" + avlTree.rank(2));
+        System.out.println("select(0):" + avlTree.select(0));
+        System.out.println("countRange(1,3):" + avlTree.countRange(1, 3));
+
+        Array<Integer> sorted = ArrayUtils.genOrderIntArray(1000000);
+        long start = System.currentTimeMillis();
+        AvlTree<Integer> tree = fromSorted(sorted);
+        long end = System.currentTimeMillis();
+        System.out.println("fromSorted:" + (end - start));
+        start = System.currentTimeMillis();
+        AvlTree<Integer> tree1 = new AvlTree<>();
+        for (int i = 0; i < sorted.getSize(); i++) {
+            tree1.add(sorted.get(i));
+        }
+        end = System.currentTimeMillis();
+        System.out.println("add:" + (end - start));
+        System.out.println("isBalanced:" + tree.isBalanced() + ", size:" + tree.getSize());
     }
 }
@@ -0,0 +1,428 @@
+package tree;
+
+import linear.IntArray;
+import utils.ArrayUtils;
+
+import java.util.function.IntConsumer;
+
+/**
+ * B+树，int键的有序集合
+ * 每个节点用int数组保存最多order个有序键，一次查找只访问O(log_order n)个节点，每个节点的键连续存放，缓存友好
+ * 数据只在叶子上，内部节点只保存分隔键：keys[i]左边子树的键都小于keys[i]，右边子树的键都大于等于keys[i]
+ * 叶子按顺序串成链表，区间遍历找到起点后沿链表往后扫描
+ * 插入溢出时分裂，分隔键上移；删除不足半满时先向相邻兄弟借，借不到再与兄弟合并，分隔键下移
+ * 注：不允许插入重复数据
+ */
+public class BPlusTree {
+
+    /**
+     * 默认阶数，256字节的键数组，约4个缓存行
+     */
+    public static final int DEFAULT_ORDER = 64;
+
+    private abstract static class Node {
+        int[] keys;
+        int size;// 键个数
+    }
+
+    /**
+     * 叶子节点，最多order个键，最少order/2个键
+     */
+    private static class Leaf extends Node {
+        Leaf next;
+
+        Leaf(int order){
+            keys = new int[order + 1];// 多一个位置，插入后再分裂
+        }
+    }
+
+    /**
+     * 内部节点，最多order个子节点，size个键对应size+1个子节点，最少(order-1)/2个键
+     */
+    private static class Inner extends Node {
+        Node[] childs;
+
+        Inner(int order){
+            keys = new int[order];
+            childs = new Node[order + 1];
+        }
+    }
+
+    private final int order;
+    private Node root;
+    private Leaf head;// 最左叶子
+    private int size;
+
+    /**
+     * 分裂时上移的分隔键
+     */
+    private int splitKey;
+
+    public BPlusTree(){
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * @param order 阶数，节点最多子节点数，不小于3
+     */
+    public BPlusTree(int order){
+        if (order < 3){
+            throw new IllegalArgumentException("order < 3, order: " + order);
+        }
+        this.order = order;
+        this.head = new Leaf(order);
+        this.root = head;
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public boolean contains(int key){
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf.keys, leaf.size, key);
+        return i < leaf.size && leaf.keys[i] == key;
+    }
+
+    /**
+     * 添加
+     * @param key
+     */
+    public void add(int key){
+        Node right = add(root, key);
+        if (right != null){
+            // 根分裂，树高+1
+            Inner newRoot = new Inner(order);
+            newRoot.keys[0] = splitKey;
+            newRoot.childs[0] = root;
+            newRoot.childs[1] = right;
+            newRoot.size = 1;
+            root = newRoot;
+        }
+    }
+
+    /**
+     * 插入node子树
+     * @return 分裂出的右节点，未分裂返回null，分隔键放在splitKey
+     */
+    private Node add(Node node, int key) {
+        if (node instanceof Leaf){
+            Leaf leaf = (Leaf) node;
+            int i = lowerBound(leaf.keys, leaf.size, key);
+            if (i < leaf.size && leaf.keys[i] == key){
+                return null;
+            }
+            System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+            leaf.keys[i] = key;
+            leaf.size ++;
+            size ++;
+            return leaf.size > order ? splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int i = upperBound(inner.keys, inner.size, key);
+        Node right = add(inner.childs[i], key);
+        if (right == null){
+            return null;
+        }
+        System.arraycopy(inner.keys, i, inner.keys, i + 1, inner.size - i);
+        System.arraycopy(inner.childs, i + 1, inner.childs, i + 2, inner.size - i);
+        inner.keys[i] = splitKey;
+        inner.childs[i + 1] = right;
+        inner.size ++;
+        return inner.size >= order ? splitInner(inner) : null;
+    }
+
+    /**
+     * 叶子后一半移到新叶子，新叶子第一个键复制到父节点
+     */
+    private Leaf splitLeaf(Leaf leaf) {
+        int mid = leaf.size / 2;
+        Leaf right = new Leaf(order);
+        right.size = leaf.size - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.size);
+        leaf.size = mid;
+        right.next = leaf.next;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    /**
+     * 内部节点中间键上移到父节点，其后的键和子节点移到新节点
+     */
+    private Inner splitInner(Inner inner) {
+        int mid = inner.size / 2;
+        Inner right = new Inner(order);
+        right.size = inner.size - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.size);
+        System.arraycopy(inner.childs, mid + 1, right.childs, 0, right.size + 1);
+        splitKey = inner.keys[mid];
+        for (int i = mid + 1; i <= inner.size; i++) {
+            inner.childs[i] = null;
+        }
+        inner.size = mid;
+        return right;
+    }
+
+    /**
+     * 删除
+     * @param key
+     * @return 是否存在并删除
+     */
+    public boolean remove(int key){
+        if (!remove(root, key)){
+            return false;
+        }
+        // 根只剩一个子节点，树高-1
+        if (root instanceof Inner && root.size == 0){
+            root = ((Inner) root).childs[0];
+        }
+        return true;
+    }
+
+    private boolean remove(Node node, int key) {
+        if (node instanceof Leaf){
+            int i = lowerBound(node.keys, node.size, key);
+            if (i == node.size || node.keys[i] != key){
+                return false;
+            }
+            System.arraycopy(node.keys, i + 1, node.keys, i, node.size - i - 1);
+            node.size --;
+            size --;
+            return true;
+        }
+
+        Inner inner = (Inner) node;
+        int i = upperBound(inner.keys, inner.size, key);
+        if (!remove(inner.childs[i], key)){
+            return false;
+        }
+        if (inner.childs[i].size < minSize(inner.childs[i])){
+            rebalance(inner, i);
+        }
+        return true;
+    }
+
+    private int minSize(Node node) {
+        return node instanceof Leaf ? order / 2 : (order - 1) / 2;
+    }
+
+    /**
+     * 子节点i不足半满，先向左右兄弟借一个键，兄弟都只有半满时与一个兄弟合并
+     */
+    private void rebalance(Inner parent, int i) {
+        Node child = parent.childs[i];
+        if (i > 0 && parent.childs[i - 1].size > minSize(child)){
+            borrowLeft(parent, i);
+        }else if (i < parent.size && parent.childs[i + 1].size > minSize(child)){
+            borrowRight(parent, i);
+        }else if (i > 0){
+            merge(parent, i - 1);
+        }else{
+            merge(parent, i);
+        }
+    }
+
+    private void borrowLeft(Inner parent, int i) {
+        Node child = parent.childs[i];
+        Node left = parent.childs[i - 1];
+        System.arraycopy(child.keys, 0, child.keys, 1, child.size);
+        if (child instanceof Leaf){
+            child.keys[0] = left.keys[left.size - 1];
+            parent.keys[i - 1] = child.keys[0];
+        }else{
+            Node[] childs = ((Inner) child).childs;
+            System.arraycopy(childs, 0, childs, 1, child.size + 1);
+            childs[0] = ((Inner) left).childs[left.size];
+            ((Inner) left).childs[left.size] = null;
+            child.keys[0] = parent.keys[i - 1];
+            parent.keys[i - 1] = left.keys[left.size - 1];
+        }
+        child.size ++;
+        left.size --;
+    }
+
+    private void borrowRight(Inner parent, int i) {
+        Node child = parent.childs[i];
+        Node right = parent.childs[i + 1];
+        if (child instanceof Leaf){
+            child.keys[child.size] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.size - 1);
+            parent.keys[i] = right.keys[0];
+        }else{
+            Node[] childs = ((Inner) right).childs;
+            child.keys[child.size] = parent.keys[i];
+            ((Inner) child).childs[child.size + 1] = childs[0];
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.size - 1);
+            System.arraycopy(childs, 1, childs, 0, right.size);
+            childs[right.size] = null;
+        }
+        child.size ++;
+        right.size --;
+    }
+
+    /**
+     * 子节点i+1合并到子节点i，父节点删除分隔键i
+     */
+    private void merge(Inner parent, int i) {
+        Node left = parent.childs[i];
+        Node right = parent.childs[i + 1];
+        if (left instanceof Leaf){
+            System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+            left.size += right.size;
+            ((Leaf) left).next = ((Leaf) right).next;
+        }else{
+            left.keys[left.size] = parent.keys[i];
+            System.arraycopy(right.keys, 0, left.keys, left.size + 1, right.size);
+            System.arraycopy(((Inner) right).childs, 0, ((Inner) left).childs, left.size + 1, right.size + 1);
+            left.size += right.size + 1;
+        }
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.size - i - 1);
+        System.arraycopy(parent.childs, i + 2, parent.childs, i + 1, parent.size - i - 1);
+        parent.childs[parent.size] = null;
+        parent.size --;
+    }
+
+    /**
+     * 按从小到大遍历[lo,hi]内的键
+     * 找到lo所在叶子后沿叶子链表扫描，O(log n + k)
+     * @param lo
+     * @param hi
+     * @param action
+     */
+    public void range(int lo, int hi, IntConsumer action){
+        Leaf leaf = findLeaf(lo);
+        int i = lowerBound(leaf.keys, leaf.size, lo);
+        while (leaf != null){
+            for (; i < leaf.size; i++) {
+                if (leaf.keys[i] > hi){
+                    return;
+                }
+                action.accept(leaf.keys[i]);
+            }
+            leaf = leaf.next;
+            i = 0;
+        }
+    }
+
+    /**
+     * 所有键从小到大放入数组
+     * @return
+     */
+    public IntArray toArray(){
+        IntArray array = new IntArray(Math.max(size, 1));
+        for (Leaf leaf = head; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                array.insert(leaf.keys[i]);
+            }
+        }
+        return array;
+    }
+
+    private Leaf findLeaf(int key) {
+        Node node = root;
+        while (node instanceof Inner){
+            node = ((Inner) node).childs[upperBound(node.keys, node.size, key)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * keys[0,n)中第一个大于等于key的位置
+     */
+    private static int lowerBound(int[] keys, int n, int key) {
+        int l = 0;
+        int r = n;
+        while (l < r){
+            int mid = (l + r) >>> 1;
+            if (keys[mid] < key){
+                l = mid + 1;
+            }else{
+                r = mid;
+            }
+        }
+        return l;
+    }
+
+    /**
+     * keys[0,n)中第一个大于key的位置，即查找key应进入的子节点
+     */
+    private static int upperBound(int[] keys, int n, int key) {
+        int l = 0;
+        int r = n;
+        while (l < r){
+            int mid = (l + r) >>> 1;
+            if (keys[mid] <= key){
+                l = mid + 1;
+            }else{
+                r = mid;
+            }
+        }
+        return l;
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder res = new StringBuilder();
+        generateString(root, 0, res);
+        return res.toString();
+    }
+
+    private void generateString(Node node, int depth, StringBuilder res){
+        for (int i = 0; i < depth; i++) {
+            res.append("--");
+        }
+        res.append('[');
+        for (int i = 0; i < node.size; i++) {
+            if (i > 0){
+                res.append(',');
+            }
+            res.append(node.keys[i]);
+        }
+        res.append("]\n");
+        if (node instanceof Inner){
+            for (int i = 0; i <= node.size; i++) {
+                generateString(((Inner) node).childs[i], depth + 1, res);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        BPlusTree tree = new BPlusTree(4);
+        for (int i = 1; i <= 20; i++) {
+            tree.add(i);
+        }
+        System.out.println(tree);
+        tree.remove(5);
+        tree.remove(6);
+        tree.remove(7);
+        System.out.println(tree);
+        tree.range(3, 12, v -> System.out.print(v + " "));
+        System.out.println();
+
+        int size = 1000000;
+        IntArray array = ArrayUtils.genRandomInts(size, Integer.MAX_VALUE);
+        BPlusTree bPlusTree = new BPlusTree();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            bPlusTree.add(array.get(i));
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("BPlusTree add:" + (end - start));
+        start = System.currentTimeMillis();
+        int hits = 0;
+        for (int i = 0; i < size; i++) {
+            if (bPlusTree.contains(array.get(i))){
+                hits++;
+            }
+        }
+        end = System.currentTimeMillis();
+        System.out.println("BPlusTree contains:" + (end - start) + ", hits:" + hits + ", size:" + bPlusTree.getSize());
+    }
+}
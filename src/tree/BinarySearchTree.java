@@ -1,7 +1,7 @@
 package tree;
 
 import linear.Array;
-import linear.LinkedList;
+import linear.MyQueue;
 import utils.ArrayUtils;
 
 import java.util.ArrayList;
@@ -149,19 +149,19 @@ public class BinarySearchTree<E extends Comparable> {
             return;
         }
         // 设计队列，先进先出，从上往下处理，一层层放入
-        LinkedList<Node> linkedList = new LinkedList();
-        linkedList.addFirst(root);
+        MyQueue<Node> queue = new MyQueue<>();
+        queue.offer(root);
         Node node = null;
-        while (!linkedList.isEmpty()){
-            node = linkedList.removeTail();
+        while (!queue.isEmpty()){
+            node = queue.poll();
             System.out.println(node.value);
 
             // 每层子节点放入队列
             if (node.left != null){
-                linkedList.addFirst(node.left);
+                queue.offer(node.left);
             }
             if (node.right != null){
-                linkedList.addFirst(node.right);
+                queue.offer(node.right);
             }
         }
     }
@@ -219,24 +219,24 @@ public class BinarySearchTree<E extends Comparable> {
         }
 
         ArrayList<ArrayList> arrayLists = new ArrayList();// 双层列表，按层次放数据
-        LinkedList<Node> linkedList = new LinkedList();// 队列，先进先出，从上往下处理，一层层放入
-        linkedList.addFirst(root);
+        MyQueue<Node> queue = new MyQueue<>();// 队列，先进先出，从上往下处理，一层层放入
+        queue.offer(root);
         Node node = null;
-        while (!linkedList.isEmpty()){
-            int currSize = linkedList.getSize();// 由于队列会持续放入子节点，要提前记录当前层节点个数
+        while (!queue.isEmpty()){
+            int currSize = queue.size();// 由于队列会持续放入子节点，要提前记录当前层节点个数
             ArrayList arrayList = new ArrayList<>();
 
             // 处理每层节点
             for (int i = 0; i < currSize; i++) {
-                node = linkedList.removeTail();
+                node = queue.poll();
                 arrayList.add(node.value);
 
                 // 每层子节点放入队列
                 if (node.left != null){
-                    linkedList.addFirst(node.left);
+                    queue.offer(node.left);
                 }
                 if (node.right != null){
-                    linkedList.addFirst(node.right);
+                    queue.offer(node.right);
                 }
             }
             // 每层数据放入列表
@@ -0,0 +1,111 @@
+package tree;
+
+import linear.Array;
+import utils.ArrayUtils;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 读多写少的并发有序集合，基于持久化左倾红黑树PersistentRBTree
+ * 写时复制：add/remove只复制从根到修改位置路径上的O(logn)个节点，新版本建好后用volatile写替换当前版本，
+ * 读操作读一次当前版本后在该版本上查找，无锁、不会看到修改到一半的树
+ * 写操作用一把锁串行执行
+ * snapshot()直接返回当前版本，O(1)，之后的修改不影响快照
+ */
+public class ConcurrentRBTree<E extends Comparable<E>> {
+
+    private volatile PersistentRBTree<E> tree = PersistentRBTree.empty();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public int getSize(){
+        return tree.getSize();
+    }
+
+    public boolean isEmpty(){
+        return tree.isEmpty();
+    }
+
+    public boolean contains(E key){
+        return tree.contains(key);
+    }
+
+    /**
+     * 当前版本的快照
+     * @return
+     */
+    public PersistentRBTree<E> snapshot(){
+        return tree;
+    }
+
+    /**
+     * 添加，已存在时替换
+     * @param key
+     */
+    public void add(E key){
+        writeLock.lock();
+        try {
+            tree = tree.add(key);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 删除
+     * @param key
+     * @return 删除的元素，不存在返回null
+     */
+    public E remove(E key){
+        writeLock.lock();
+        try {
+            PersistentRBTree<E> old = tree;
+            E value = old.get(key);
+            if (value != null){
+                tree = old.remove(key);
+            }
+            return value;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Array<Integer> array = ArrayUtils.genRandomIntArray(1000000, 1000000);
+        ConcurrentRBTree<Integer> tree = new ConcurrentRBTree<>();
+        for (int i = 0; i < array.getSize(); i++) {
+            tree.add(array.get(i));
+        }
+        System.out.println("size:" + tree.getSize());
+        PersistentRBTree<Integer> snapshot = tree.snapshot();
+
+        // 读线程查找的同时，写线程不断删除再插入
+        int readers = Runtime.getRuntime().availableProcessors();
+        Thread[] threads = new Thread[readers];
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < readers; t++) {
+            threads[t] = new Thread(() -> {
+                int hits = 0;
+                for (int i = 0; i < array.getSize(); i++) {
+                    if (tree.contains(array.get(i))){
+                        hits++;
+                    }
+                }
+                System.out.println(Thread.currentThread().getName() + " hits:" + hits);
+            });
+            threads[t].start();
+        }
+        for (int i = 0; i < 100000; i++) {
+            Integer key = array.get(i);
+            tree.remove(key);
+            tree.add(key);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long end = System.currentTimeMillis();
+        System.out.println(readers + "个读线程(毫秒):" + (end - start) + ", size:" + tree.getSize());
+        tree.remove(array.get(0));
+        System.out.println("快照size:" + snapshot.getSize() + ", 当前size:" + tree.getSize());
+    }
+}
@@ -0,0 +1,157 @@
+package tree;
+
+import linear.Array;
+import linear.IntArray;
+import linear.LongArray;
+import utils.ArrayUtils;
+
+/**
+ * 树状数组(Fenwick树)，long存储
+ * 前缀和与单点加，都是O(logn)，只需一个长度n+1的long数组
+ * 内部下标从1开始，tree[i]存放区间(i-lowbit(i),i]的和，lowbit(i)=i&-i；对外下标从0开始
+ */
+public class FenwickTree {
+
+    private final int n;
+    private final long[] tree;
+
+    public FenwickTree(int n){
+        if (n <= 0){
+            throw new IllegalArgumentException("n <= 0");
+        }
+        this.n = n;
+        this.tree = new long[n + 1];
+    }
+
+    public FenwickTree(IntArray array){
+        this(array.getSize());
+        int[] data = array.rawData();
+        for (int i = 0; i < n; i++) {
+            tree[i + 1] = data[i];
+        }
+        build();
+    }
+
+    public FenwickTree(LongArray array){
+        this(array.getSize());
+        System.arraycopy(array.rawData(), 0, tree, 1, n);
+        build();
+    }
+
+    public FenwickTree(Array<Integer> array){
+        this(array.getSize());
+        for (int i = 0; i < n; i++) {
+            tree[i + 1] = array.get(i);
+        }
+        build();
+    }
+
+    /**
+     * 线性构建：每个节点把自己的和加到父节点(i+lowbit(i))，O(n)
+     */
+    private void build() {
+        for (int i = 1; i <= n; i++) {
+            int j = i + (i & -i);
+            if (j <= n){
+                tree[j] += tree[i];
+            }
+        }
+    }
+
+    public int getSize(){
+        return n;
+    }
+
+    /**
+     * 单点加
+     * @param index
+     * @param delta
+     */
+    public void add(int index, long delta){
+        check(index);
+        for (int i = index + 1; i <= n; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * 前缀和，区间[0,index]
+     * @param index
+     * @return
+     */
+    public long prefixSum(int index){
+        check(index);
+        long sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 区间[l,r]的和
+     * @param l
+     * @param r
+     * @return
+     */
+    public long sum(int l, int r){
+        if (l > r){
+            throw new IllegalArgumentException("Error: illegal range [" + l + "," + r + "]");
+        }
+        return l == 0 ? prefixSum(r) : prefixSum(r) - prefixSum(l - 1);
+    }
+
+    public long get(int index){
+        return sum(index, index);
+    }
+
+    public void set(int index, long value){
+        add(index, value - get(index));
+    }
+
+    /**
+     * 第一个前缀和不小于prefix的下标，要求所有值非负
+     * 从最高位开始倍增，每次尝试跳过一个tree节点覆盖的区间，O(logn)
+     * @param prefix
+     * @return 下标，不存在返回n
+     */
+    public int lowerBound(long prefix){
+        int pos = 0;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= n && tree[next] < prefix){
+                pos = next;
+                prefix -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    private void check(int index) {
+        if (index < 0 || index >= n){
+            throw new IllegalArgumentException("Error: index < 0 or >= size, index: " + index + ", size: " + n);
+        }
+    }
+
+    public static void main(String[] args) {
+        int size = 10000000;
+        IntArray array = ArrayUtils.genRandomInts(size, 100);
+        long start = System.nanoTime();
+        FenwickTree fenwickTree = new FenwickTree(array);
+        long end = System.nanoTime();
+        System.out.println("生成树状数组(纳秒):"+(end - start));
+
+        start = System.nanoTime();
+        fenwickTree.add(500445, 2);
+        end = System.nanoTime();
+        System.out.println("修改数据(纳秒):"+(end - start));
+
+        start = System.nanoTime();
+        System.out.println(fenwickTree.sum(500000, 509988));
+        end = System.nanoTime();
+        System.out.println("查询区间数据(纳秒):"+(end - start));
+
+        long half = fenwickTree.prefixSum(size - 1) / 2;
+        System.out.println("lowerBound:" + fenwickTree.lowerBound(half));
+    }
+}
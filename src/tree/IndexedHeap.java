@@ -0,0 +1,293 @@
+package tree;
+
+import linear.Array;
+import utils.ArrayUtils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * 索引d叉最大堆
+ * 节点i的子节点为d*i+1 ~ d*i+d，父节点为(i-1)/d，d=4时树高是二叉堆的一半，同一节点的子节点在相邻位置
+ * add返回句柄，之后可按句柄修改优先级changeKey或删除remove，都是O(logn)：
+ * keys[i]和heap[i]是堆中位置i上的元素和它的句柄，pos[h]是句柄h在堆中的位置，比较时直接读连续的keys，不经过句柄间接访问
+ * 上浮和下沉不做交换，先取出当前元素留下空位，把父节点或较大子节点移入空位，最后把元素放入空位
+ * 删除后句柄回收，之后add可能复用
+ */
+public class IndexedHeap<E extends Comparable<E>> {
+
+    public static final int DEFAULT_D = 4;
+
+    private final int d;
+    private Object[] keys;// 按堆中位置存放
+    private int[] heap;
+    private int[] pos;// 不在堆中为-1
+    private int[] free;// 回收的句柄
+    private int freeSize;
+    private int handles;// 已分配过的句柄数
+    private int size;
+
+    public IndexedHeap(){
+        this(DEFAULT_D, 16);
+    }
+
+    /**
+     * @param d 每个节点的子节点数，不小于2
+     * @param length 初始容量
+     */
+    public IndexedHeap(int d, int length){
+        if (d < 2){
+            throw new IllegalArgumentException("d < 2, d: " + d);
+        }
+        length = Math.max(length, 1);
+        this.d = d;
+        keys = new Object[length];
+        heap = new int[length];
+        pos = new int[length];
+        free = new int[length];
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * 添加
+     * @param key
+     * @return 句柄
+     */
+    public int add(E key){
+        if (key == null){
+            throw new IllegalArgumentException("key is null!");
+        }
+        int h;
+        if (freeSize > 0){
+            h = free[--freeSize];
+        }else{
+            if (handles == keys.length){
+                grow();
+            }
+            h = handles++;
+        }
+        keys[size] = key;
+        pos[h] = size;
+        heap[size] = h;
+        up(size++);
+        return h;
+    }
+
+    private void grow() {
+        int length = keys.length * 2;
+        Object[] newKeys = new Object[length];
+        System.arraycopy(keys, 0, newKeys, 0, keys.length);
+        keys = newKeys;
+        int[] newHeap = new int[length];
+        System.arraycopy(heap, 0, newHeap, 0, heap.length);
+        heap = newHeap;
+        int[] newPos = new int[length];
+        System.arraycopy(pos, 0, newPos, 0, pos.length);
+        pos = newPos;
+        int[] newFree = new int[length];
+        System.arraycopy(free, 0, newFree, 0, free.length);
+        free = newFree;
+    }
+
+    public boolean contains(int handle){
+        return handle >= 0 && handle < handles && pos[handle] >= 0;
+    }
+
+    /**
+     * 句柄对应的元素
+     * @param handle
+     * @return
+     */
+    public E get(int handle){
+        check(handle);
+        return (E) keys[pos[handle]];
+    }
+
+    /**
+     * 最大值的句柄
+     * @return
+     */
+    public int peekHandle(){
+        if (size == 0){
+            throw new NoSuchElementException("heap is empty");
+        }
+        return heap[0];
+    }
+
+    public E findMax(){
+        peekHandle();
+        return (E) keys[0];
+    }
+
+    public E extractMax(){
+        return remove(peekHandle());
+    }
+
+    /**
+     * 修改句柄对应元素的优先级，变大上浮，变小下沉
+     * @param handle
+     * @param key
+     */
+    public void changeKey(int handle, E key){
+        check(handle);
+        if (key == null){
+            throw new IllegalArgumentException("key is null!");
+        }
+        int i = pos[handle];
+        int cmp = key.compareTo((E) keys[i]);
+        keys[i] = key;
+        if (cmp > 0){
+            up(i);
+        }else if (cmp < 0){
+            down(i);
+        }
+    }
+
+    /**
+     * 删除句柄对应的元素，最后一个元素移入其位置后上浮或下沉
+     * @param handle
+     * @return
+     */
+    public E remove(int handle){
+        check(handle);
+        int i = pos[handle];
+        E key = (E) keys[i];
+        E last = (E) keys[--size];
+        if (i < size){
+            keys[i] = last;
+            heap[i] = heap[size];
+            pos[heap[i]] = i;
+            if (last.compareTo(key) > 0){
+                up(i);
+            }else{
+                down(i);
+            }
+        }
+        keys[size] = null;
+        pos[handle] = -1;
+        free[freeSize++] = handle;
+        return key;
+    }
+
+    private void check(int handle) {
+        if (!contains(handle)){
+            throw new IllegalArgumentException("Error: handle not in heap, handle: " + handle);
+        }
+    }
+
+    /**
+     * 上浮，比元素小的父节点依次下移
+     */
+    private void up(int i) {
+        int h = heap[i];
+        E key = (E) keys[i];
+        while (i > 0){
+            int p = (i - 1) / d;
+            if (((E) keys[p]).compareTo(key) >= 0){
+                break;
+            }
+            move(p, i);
+            i = p;
+        }
+        keys[i] = key;
+        heap[i] = h;
+        pos[h] = i;
+    }
+
+    /**
+     * 位置from的元素移到位置to
+     */
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        heap[to] = heap[from];
+        pos[heap[to]] = to;
+    }
+
+    /**
+     * 下沉，d个子节点中最大的比元素大时上移
+     */
+    private void down(int i) {
+        int h = heap[i];
+        E key = (E) keys[i];
+        while (true){
+            int first = d * i + 1;
+            if (first >= size){
+                break;
+            }
+            int c = first;
+            E max = (E) keys[c];
+            for (int j = first + 1, end = Math.min(first + d, size); j < end; j++) {
+                E child = (E) keys[j];
+                if (child.compareTo(max) > 0){
+                    c = j;
+                    max = child;
+                }
+            }
+            if (max.compareTo(key) <= 0){
+                break;
+            }
+            move(c, i);
+            i = c;
+        }
+        keys[i] = key;
+        heap[i] = h;
+        pos[h] = i;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append("size:").append(size).append(" [");
+        for (int i = 0; i < size; i++) {
+            res.append(keys[i]).append(i < size - 1 ? "," : "");
+        }
+        return res.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        IndexedHeap<Integer> heap = new IndexedHeap<>();
+        int[] handles = new int[10];
+        for (int i = 0; i < 10; i++) {
+            handles[i] = heap.add(i);
+        }
+        System.out.println(heap);
+        heap.changeKey(handles[2], 100);
+        heap.changeKey(handles[9], -1);
+        heap.remove(handles[5]);
+        System.out.println(heap);
+        StringBuilder stringBuilder = new StringBuilder();
+        while (!heap.isEmpty()){
+            stringBuilder.append("--").append(heap.extractMax());
+        }
+        System.out.println(stringBuilder);
+
+        Array<Integer> array = ArrayUtils.genRandomIntArray(1000000, 1000000);
+        long start = System.currentTimeMillis();
+        IndexedHeap<Integer> heap1 = new IndexedHeap<>();
+        for (int i = 0; i < array.getSize(); i++) {
+            heap1.add(array.get(i));
+        }
+        while (!heap1.isEmpty()){
+            heap1.extractMax();
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("IndexedHeap(d=4):" + (end - start));
+
+        start = System.currentTimeMillis();
+        MaxHeap<Integer> heap2 = new MaxHeap<>();
+        for (int i = 0; i < array.getSize(); i++) {
+            heap2.add(array.get(i));
+        }
+        while (!heap2.isEmpty()){
+            heap2.extractMax();
+        }
+        end = System.currentTimeMillis();
+        System.out.println("MaxHeap:" + (end - start));
+    }
+}
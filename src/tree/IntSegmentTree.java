@@ -0,0 +1,151 @@
+package tree;
+
+import linear.Array;
+import linear.IntArray;
+import utils.ArrayUtils;
+import utils.IntMerger;
+
+/**
+ * 线段树，数组实现
+ * 不创建节点对象，整棵树存放在长度2n的int数组中：叶子在[n,2n)，节点i的左右子节点为2i、2i+1，父节点为i/2
+ * 修改和查询都从叶子往上循环处理，不递归，O(logn)
+ */
+public class IntSegmentTree {
+
+    private final int[] tree;
+    private final int n;
+    private final IntMerger merger;// 实现每层聚集逻辑
+
+    public IntSegmentTree(IntArray array, IntMerger merger){
+        if (array == null || array.isEmpty()){
+            throw new IllegalArgumentException("区间不能有空");
+        }
+        this.n = array.getSize();
+        this.merger = merger;
+        this.tree = new int[2 * n];
+        System.arraycopy(array.rawData(), 0, tree, n, n);
+        build();
+    }
+
+    public IntSegmentTree(Array<Integer> array, IntMerger merger){
+        if (array == null || array.isEmpty()){
+            throw new IllegalArgumentException("区间不能有空");
+        }
+        this.n = array.getSize();
+        this.merger = merger;
+        this.tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = array.get(i);
+        }
+        build();
+    }
+
+    /**
+     * 从最后一个非叶子节点往前聚集，O(n)
+     */
+    private void build() {
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = merger.merge(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public int getSize(){
+        return n;
+    }
+
+    public int get(int i){
+        check(i);
+        return tree[n + i];
+    }
+
+    /**
+     * 查询区间[l,r]内聚集数据
+     * 左右边界同时往上收缩：左边界是右子节点时单独计入左结果，右边界是左子节点时单独计入右结果，最后左右结果合并，保持左右顺序
+     * @param l
+     * @param r
+     * @return
+     */
+    public int query(int l, int r){
+        if (l < 0 || l > r || r >= n){
+            throw new IllegalArgumentException("Error: illegal range [" + l + "," + r + "], size: " + n);
+        }
+        int left = 0;
+        int right = 0;
+        boolean hasLeft = false;
+        boolean hasRight = false;
+        // 左闭右开[l,r)
+        for (l += n, r += n + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1){
+                left = hasLeft ? merger.merge(left, tree[l]) : tree[l];
+                hasLeft = true;
+                l++;
+            }
+            if ((r & 1) == 1){
+                r--;
+                right = hasRight ? merger.merge(tree[r], right) : tree[r];
+                hasRight = true;
+            }
+        }
+        if (!hasLeft){
+            return right;
+        }
+        return hasRight ? merger.merge(left, right) : left;
+    }
+
+    /**
+     * 修改
+     * 修改叶子后逐层往上重新聚集父节点
+     * @param index
+     * @param value
+     */
+    public void set(int index, int value){
+        check(index);
+        int i = index + n;
+        tree[i] = value;
+        for (i >>= 1; i > 0; i >>= 1) {
+            tree[i] = merger.merge(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    private void check(int index) {
+        if (index < 0 || index >= n){
+            throw new IllegalArgumentException("Error: index < 0 or >= size, index: " + index + ", size: " + n);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append("size-").append(n).append("\n");
+        for (int i = 1; i < 2 * n; i++) {
+            res.append("(").append(i).append(")").append(tree[i]);
+            if (i != 2 * n - 1){
+                res.append(":");
+            }
+        }
+        return res.toString();
+    }
+
+    public static void main(String[] args) {
+        int size  = 10000000;
+        int bond = 100000;
+        long start = System.nanoTime();
+        IntArray array = ArrayUtils.genRandomInts(size, bond);
+        long end = System.nanoTime();
+        System.out.println("创建"+size+"数组(纳秒):"+(end - start));
+        start = System.nanoTime();
+        IntSegmentTree segmentTree = new IntSegmentTree(array, IntMerger.MIN);
+        end = System.nanoTime();
+        System.out.println("生成线段树(纳秒):"+(end - start));
+
+        start = System.nanoTime();
+        segmentTree.set(500445, 2);
+        end = System.nanoTime();
+        System.out.println("修改数据(纳秒):"+(end - start));
+
+        start = System.nanoTime();
+        System.out.println(segmentTree.query(500000, 509988));
+        end = System.nanoTime();
+        System.out.println("查询区间数据(纳秒):"+(end - start));
+    }
+}
@@ -0,0 +1,210 @@
+package tree;
+
+import linear.IntArray;
+import linear.LongArray;
+import utils.ArrayUtils;
+import utils.RangeMerger;
+
+/**
+ * 懒标记线段树
+ * 支持区间加、区间赋值和区间查询，都是O(logn)
+ * 区间修改时，完全覆盖的节点只更新聚集值并打上标记，不再往下处理；之后访问到其子节点时再把标记下推
+ * 节点按堆的方式存放在数组中，节点i的左右子节点为2i、2i+1
+ * 同一节点上赋值标记和加标记不会同时存在：先赋值后加，直接加到赋值标记上；先加后赋值，加标记作废
+ */
+public class LazySegmentTree {
+
+    private final int n;
+    private final RangeMerger merger;// 实现每层聚集逻辑
+    private final long[] tree;
+    private final long[] addTag;// 待下推的加标记
+    private final long[] assignTag;// 待下推的赋值标记
+    private final boolean[] hasAssign;
+
+    public LazySegmentTree(LongArray array, RangeMerger merger){
+        this(array.rawData(), array.getSize(), merger);
+    }
+
+    public LazySegmentTree(IntArray array, RangeMerger merger){
+        this(toLongs(array), array.getSize(), merger);
+    }
+
+    private LazySegmentTree(long[] values, int n, RangeMerger merger){
+        if (n <= 0){
+            throw new IllegalArgumentException("区间不能有空");
+        }
+        this.n = n;
+        this.merger = merger;
+        this.tree = new long[4 * n];
+        this.addTag = new long[4 * n];
+        this.assignTag = new long[4 * n];
+        this.hasAssign = new boolean[4 * n];
+        build(values, 1, 0, n - 1);
+    }
+
+    private static long[] toLongs(IntArray array) {
+        long[] values = new long[array.getSize()];
+        int[] data = array.rawData();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data[i];
+        }
+        return values;
+    }
+
+    private void build(long[] values, int node, int l, int r) {
+        if (l == r){
+            tree[node] = values[l];
+            return;
+        }
+        int mid = l + (r - l) / 2;
+        build(values, 2 * node, l, mid);
+        build(values, 2 * node + 1, mid + 1, r);
+        tree[node] = merger.merge(tree[2 * node], tree[2 * node + 1]);
+    }
+
+    public int getSize(){
+        return n;
+    }
+
+    public long get(int index){
+        return query(index, index);
+    }
+
+    public void set(int index, long value){
+        assign(index, index, value);
+    }
+
+    /**
+     * 查询区间[l,r]内聚集数据
+     * @param l
+     * @param r
+     * @return
+     */
+    public long query(int l, int r){
+        check(l, r);
+        return query(1, 0, n - 1, l, r);
+    }
+
+    private long query(int node, int l, int r, int indl, int indr) {
+        if (l == indl && r == indr){
+            return tree[node];
+        }
+        pushDown(node, l, r);
+        int mid = l + (r - l) / 2;
+        // 在右半边
+        if (indl > mid){
+            return query(2 * node + 1, mid + 1, r, indl, indr);
+        }
+        // 在左半边
+        if (indr <= mid){
+            return query(2 * node, l, mid, indl, indr);
+        }
+        // 左右都有，需要把查询区间按照mid拆开
+        return merger.merge(query(2 * node, l, mid, indl, mid),
+                query(2 * node + 1, mid + 1, r, mid + 1, indr));
+    }
+
+    /**
+     * 区间[l,r]每个值加上delta
+     * @param l
+     * @param r
+     * @param delta
+     */
+    public void add(int l, int r, long delta){
+        check(l, r);
+        update(1, 0, n - 1, l, r, false, delta);
+    }
+
+    /**
+     * 区间[l,r]每个值赋为value
+     * @param l
+     * @param r
+     * @param value
+     */
+    public void assign(int l, int r, long value){
+        check(l, r);
+        update(1, 0, n - 1, l, r, true, value);
+    }
+
+    private void update(int node, int l, int r, int indl, int indr, boolean isAssign, long value) {
+        // 完全覆盖，打标记后返回
+        if (indl <= l && r <= indr){
+            if (isAssign){
+                applyAssign(node, r - l + 1, value);
+            }else{
+                applyAdd(node, r - l + 1, value);
+            }
+            return;
+        }
+        pushDown(node, l, r);
+        int mid = l + (r - l) / 2;
+        if (indl <= mid){
+            update(2 * node, l, mid, indl, indr, isAssign, value);
+        }
+        if (indr > mid){
+            update(2 * node + 1, mid + 1, r, indl, indr, isAssign, value);
+        }
+        tree[node] = merger.merge(tree[2 * node], tree[2 * node + 1]);
+    }
+
+    private void applyAssign(int node, int length, long value) {
+        tree[node] = merger.assign(value, length);
+        assignTag[node] = value;
+        hasAssign[node] = true;
+        addTag[node] = 0;
+    }
+
+    private void applyAdd(int node, int length, long delta) {
+        tree[node] = merger.add(tree[node], delta, length);
+        if (hasAssign[node]){
+            assignTag[node] += delta;
+        }else{
+            addTag[node] += delta;
+        }
+    }
+
+    /**
+     * 标记下推到左右子节点
+     */
+    private void pushDown(int node, int l, int r) {
+        int mid = l + (r - l) / 2;
+        if (hasAssign[node]){
+            applyAssign(2 * node, mid - l + 1, assignTag[node]);
+            applyAssign(2 * node + 1, r - mid, assignTag[node]);
+            hasAssign[node] = false;
+        }else if (addTag[node] != 0){
+            applyAdd(2 * node, mid - l + 1, addTag[node]);
+            applyAdd(2 * node + 1, r - mid, addTag[node]);
+            addTag[node] = 0;
+        }
+    }
+
+    private void check(int l, int r) {
+        if (l < 0 || l > r || r >= n){
+            throw new IllegalArgumentException("Error: illegal range [" + l + "," + r + "], size: " + n);
+        }
+    }
+
+    public static void main(String[] args) {
+        int size  = 10000000;
+        int bond = 100000;
+        IntArray array = ArrayUtils.genRandomInts(size, bond);
+        long start = System.nanoTime();
+        LazySegmentTree segmentTree = new LazySegmentTree(array, RangeMerger.SUM);
+        long end = System.nanoTime();
+        System.out.println("生成线段树(纳秒):"+(end - start));
+
+        System.out.println(segmentTree.query(500000, 509988));
+        start = System.nanoTime();
+        segmentTree.add(500000, 509988, 5);
+        end = System.nanoTime();
+        System.out.println("区间加(纳秒):"+(end - start));
+        System.out.println(segmentTree.query(500000, 509988));
+
+        start = System.nanoTime();
+        segmentTree.assign(500000, 509988, 1);
+        end = System.nanoTime();
+        System.out.println("区间赋值(纳秒):"+(end - start));
+        System.out.println(segmentTree.query(500000, 509988));
+    }
+}
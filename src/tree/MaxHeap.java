@@ -22,7 +22,7 @@ public class MaxHeap<E extends Comparable> {
     }
 
     /**
-     * 整个集合转换为堆，从最后一个节点的父节点开始左下沉，直到根，即heapify算法
+     * 整个集合转换为堆，从最后一个节点的父节点开始往前逐个下沉，直到根，即heapify算法，O(n)
      * @param arr
      */
     public MaxHeap(Array arr){
@@ -31,19 +31,49 @@ public class MaxHeap<E extends Comparable> {
     }
 
     private void heapify() {
-        if (array.getSize() <= 1){
-            return;
+        heapify(array.rawData(), 0, array.getSize());
+    }
+
+    /**
+     * Floyd建堆，data[from,from+n)原地调整为最大堆
+     * 叶子本身就是堆，从最后一个非叶子节点往前逐个下沉，O(n)：高度为h的节点约n/2^(h+1)个，每个最多下沉h层
+     * @param data
+     * @param from 堆的起始下标
+     * @param n 元素个数
+     */
+    public static void heapify(Object[] data, int from, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(data, from, i, n);
         }
-        for (int i = array.getSize()-1; i >= 0 ; i-=2) {
-            int p = 0;
-            int j = i;
-            // 当前节点不是根节点，则查找父节点做下沉
-            while ((p = parent(j))>=0 && j > 0){
-                down(p);
-                j = p;
-            }
+    }
+
+    /**
+     * int数组版本
+     */
+    public static void heapify(int[] data, int from, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(data, from, i, n);
         }
+    }
 
+    /**
+     * 批量添加
+     * 批量较大时直接放到末尾后整体重新建堆O(n+m)，否则逐个上浮O(mlog(n+m))
+     * @param values
+     */
+    public void addAll(Array<E> values){
+        int m = values.getSize();
+        int n = array.getSize();
+        if ((long) m * (32 - Integer.numberOfLeadingZeros(n + m)) < n + m){
+            for (int i = 0; i < m; i++) {
+                add(values.get(i));
+            }
+            return;
+        }
+        for (int i = 0; i < m; i++) {
+            array.insert(values.get(i));
+        }
+        heapify();
     }
 
     public int getSize(){
@@ -67,23 +97,22 @@ public class MaxHeap<E extends Comparable> {
 
     /**
      * 上浮
+     * 取出当前元素留下空位，比它小的父节点依次下移到空位，最后放入元素，不做交换
      * @param i
      */
     private void up(int i) {
-        int p = 0;
-        // 从下往上一层层与父节点比较，当前元素大则替换，小则退出
-        while ((p = parent(i)) >= 0){
-            // 当前节点是根时，退出
-            if (i == 0){
-                return;
-            }
-            if (array.get(p).compareTo(array.get(i)) < 0){
-                ArrayUtils.swap(array, i, p);
-                i = p;
-            }else {
-                return;
+        Object[] data = array.rawData();
+        E value = (E) data[i];
+        // 从下往上一层层与父节点比较，父节点小则下移，大则退出
+        while (i > 0){
+            int p = parent(i);
+            if (((E) data[p]).compareTo(value) >= 0){
+                break;
             }
+            data[i] = data[p];
+            i = p;
         }
+        data[i] = value;
     }
 
     private int parent(int i){
@@ -109,60 +138,73 @@ public class MaxHeap<E extends Comparable> {
      */
     public E extractMax(){
         E max = array.get(0);
-        ArrayUtils.swap(array, 0, array.getSize()-1);
-        array.remove(array.getSize()-1);
-        down(0);
+        int last = array.getSize() - 1;
+        Object[] data = array.rawData();
+        data[0] = data[last];
+        array.remove(last);
+        if (last > 0){
+            down(0);
+        }
         return max;
     }
 
     /**
      * 下沉
+     * 取出当前元素留下空位，左右子节点中较大的比它大时上移到空位，最后放入元素，不做交换
      * @param i
      */
     private void down(int i) {
+        siftDown(array.rawData(), 0, i, array.getSize());
+    }
+
+    /**
+     * 下沉，堆存放在data[from,from+n)，i是堆内下标，建堆和堆排序共用
+     * @param data
+     * @param from 堆的起始下标
+     * @param i
+     * @param n 元素个数
+     */
+    public static void siftDown(Object[] data, int from, int i, int n) {
+        Comparable value = (Comparable) data[from + i];
+        while (true){
+            int c = 2 * i + 1;
+            // 左子超限，说明i是叶子，结束
+            if (c >= n){
+                break;
+            }
+            // 取左右子中较大的
+            if (c + 1 < n && ((Comparable) data[from + c + 1]).compareTo(data[from + c]) > 0){
+                c++;
+            }
+            if (((Comparable) data[from + c]).compareTo(value) <= 0){
+                break;
+            }
+            data[from + i] = data[from + c];
+            i = c;
+        }
+        data[from + i] = value;
+    }
+
+    /**
+     * int数组版本
+     */
+    public static void siftDown(int[] data, int from, int i, int n) {
+        int value = data[from + i];
         while (true){
-            int l = leftChild(i);
-            int r = rightChild(i);
-            System.out.println("down i--:"+i+"--l:"+l+"--r:"+r);
-            // 左右子都超限，说明i是叶子，结束
-            if (l >= array.getSize() && r >= array.getSize()){
-                return;
+            int c = 2 * i + 1;
+            if (c >= n){
+                break;
+            }
+            if (c + 1 < n && data[from + c + 1] > data[from + c]){
+                c++;
             }
-            // 左子超限，右子大则下沉交换，右子小则结束
-            if (l >= array.getSize()){
-                if (array.get(r).compareTo(array.get(i)) > 0){
-                    ArrayUtils.swap(array, r, i);
-                    i = r;
-                }else{
-                    return;
-                }
-            }else
-            // 右子超限，左子大则下沉交换，左子小则结束
-            if (r >= array.getSize()){
-                if (array.get(l).compareTo(array.get(i)) > 0){
-                    ArrayUtils.swap(array, l, i);
-                    i = l;
-                }else{
-                    return;
-                }
-            }else
-            // 右子比左子大，比较子右，右子大则下沉交换，右子小则结束
-            if (array.get(r).compareTo(array.get(l)) > 0){
-                if (array.get(r).compareTo(array.get(i)) > 0){
-                    ArrayUtils.swap(array, r, i);
-                    i = r;
-                }else{
-                    return;
-                }
-            }else{// 左子比右子大，与比较左子，左子大则下沉交换，左子小则结束
-                if (array.get(l).compareTo(array.get(i)) > 0){
-                    ArrayUtils.swap(array, l, i);
-                    i = l;
-                }else{
-                    return;
-                }
+            if (data[from + c] <= value){
+                break;
             }
+            data[from + i] = data[from + c];
+            i = c;
         }
+        data[from + i] = value;
     }
 
     /**
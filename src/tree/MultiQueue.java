@@ -0,0 +1,224 @@
+package tree;
+
+import linear.Array;
+import utils.ArrayUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 并发最大优先队列，MultiQueue
+ * 由多个各自加锁的MaxHeap组成，add随机选一个堆插入；poll随机选两个堆，比较两者堆顶(无锁读取缓存的堆顶)，取较大的一个弹出
+ * 锁被占用时tryLock失败直接换一个堆重试，线程之间很少互相等待
+ * 宽松模式：堆个数取CPU核数的C倍，poll不保证返回全局最大值，但返回值的期望排名误差是O(堆个数)，适合调度等允许近似顺序的场景
+ * 严格模式：只有一个堆，每次都返回全局最大值，所有线程串行访问这个堆
+ */
+public class MultiQueue<E extends Comparable> {
+
+    /**
+     * 宽松模式下每个CPU核对应的堆个数
+     */
+    public static final int C = 2;
+
+    /**
+     * 连续tryLock失败超过该次数后改为阻塞加锁
+     */
+    private static final int MAX_TRY = 64;
+
+    private static final class Part<E extends Comparable> {
+        final ReentrantLock lock = new ReentrantLock();
+        final MaxHeap<E> heap = new MaxHeap<>();
+        volatile E top;// 堆顶，空堆为null，只在持有锁时修改
+        volatile int size;
+
+        /**
+         * 持有锁时调用，修改后刷新缓存的堆顶和元素个数
+         */
+        void refresh(){
+            top = heap.isEmpty() ? null : heap.findMax();
+            size = heap.getSize();
+        }
+    }
+
+    private final Part<E>[] parts;
+
+    /**
+     * 宽松模式
+     */
+    public MultiQueue(){
+        this(false);
+    }
+
+    /**
+     * @param strict 是否严格按优先级出队
+     */
+    public MultiQueue(boolean strict){
+        this(strict ? 1 : C * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param queues 堆个数，为1时是严格模式
+     */
+    public MultiQueue(int queues){
+        if (queues <= 0){
+            throw new IllegalArgumentException("queues <= 0, queues: " + queues);
+        }
+        parts = new Part[queues];
+        for (int i = 0; i < queues; i++) {
+            parts[i] = new Part<>();
+        }
+    }
+
+    public boolean isStrict(){
+        return parts.length == 1;
+    }
+
+    /**
+     * 元素个数，并发修改时是近似值
+     * @return
+     */
+    public int getSize(){
+        int size = 0;
+        for (Part<E> part : parts) {
+            size += part.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty(){
+        for (Part<E> part : parts) {
+            if (part.top != null){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 添加
+     * @param value
+     */
+    public void add(E value){
+        if (value == null){
+            throw new IllegalArgumentException("value is null!");
+        }
+        Part<E> part = lockRandom();
+        try {
+            part.heap.add(value);
+            part.refresh();
+        } finally {
+            part.lock.unlock();
+        }
+    }
+
+    /**
+     * 随机选一个堆加锁
+     */
+    private Part<E> lockRandom() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // 严格模式只有一个堆，直接阻塞加锁
+        for (int t = 0; t < MAX_TRY && parts.length > 1; t++) {
+            Part<E> part = parts[random.nextInt(parts.length)];
+            if (part.lock.tryLock()){
+                return part;
+            }
+        }
+        Part<E> part = parts[random.nextInt(parts.length)];
+        part.lock.lock();
+        return part;
+    }
+
+    /**
+     * 取出最大值，严格模式下是全局最大值，宽松模式下是随机两个堆的堆顶中较大的
+     * @return 队列为空返回null
+     */
+    public E poll(){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int t = 0; ; t++) {
+            Part<E> part = choose(random);
+            if (part == null){
+                return null;
+            }
+            if (t < MAX_TRY && parts.length > 1){
+                if (!part.lock.tryLock()){
+                    continue;
+                }
+            }else{
+                part.lock.lock();
+            }
+            try {
+                // 加锁前可能已被其他线程取空
+                if (!part.heap.isEmpty()){
+                    E value = part.heap.extractMax();
+                    part.refresh();
+                    return value;
+                }
+            } finally {
+                part.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 两个随机堆中堆顶较大的；两个都为空时顺序找一个非空的堆，全部为空返回null
+     */
+    private Part<E> choose(ThreadLocalRandom random) {
+        Part<E> a = parts[random.nextInt(parts.length)];
+        Part<E> b = parts[random.nextInt(parts.length)];
+        E ta = a.top;
+        E tb = b.top;
+        if (ta != null && tb != null){
+            return ta.compareTo(tb) >= 0 ? a : b;
+        }
+        if (ta != null){
+            return a;
+        }
+        if (tb != null){
+            return b;
+        }
+        int start = random.nextInt(parts.length);
+        for (int i = 0; i < parts.length; i++) {
+            Part<E> part = parts[(start + i) % parts.length];
+            if (part.top != null){
+                return part;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int size = 1000000;
+        Array<Integer> array = ArrayUtils.genRandomIntArray(size, size);
+        for (boolean strict : new boolean[]{true, false}) {
+            MultiQueue<Integer> queue = new MultiQueue<>(strict);
+            int threads = 4;
+            Thread[] workers = new Thread[threads];
+            long start = System.currentTimeMillis();
+            for (int t = 0; t < threads; t++) {
+                int from = size / threads * t;
+                int to = size / threads * (t + 1);
+                workers[t] = new Thread(() -> {
+                    for (int i = from; i < to; i++) {
+                        queue.add(array.get(i));
+                        if ((i & 1) == 1){
+                            queue.poll();
+                        }
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long end = System.currentTimeMillis();
+            System.out.println((strict ? "严格" : "宽松") + "模式" + threads + "线程(毫秒):" + (end - start) + ", size:" + queue.getSize());
+
+            // 单线程取出前10个，观察顺序
+            StringBuilder stringBuilder = new StringBuilder();
+            for (int i = 0; i < 10; i++) {
+                stringBuilder.append("--").append(queue.poll());
+            }
+            System.out.println(stringBuilder);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package tree;
+
+import linear.Array;
+
+import java.util.function.Consumer;
+
+/**
+ * 持久化左倾红黑树，不可变的有序集合
+ * add/remove不修改当前树，返回一棵新树：只复制从根到修改位置路径上的O(logn)个节点，其余子树新旧两棵树共用
+ * 旧树始终可用，持有一棵树就是一个快照，O(1)，可以安全地在多个线程间共享
+ * 删除使用2-3树的自顶向下删除，删除后仍然平衡
+ */
+public final class PersistentRBTree<E extends Comparable<E>> {
+
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private static final PersistentRBTree EMPTY = new PersistentRBTree<>(null, 0);
+
+    private static class Node<E> {
+        E key;
+        Node<E> left, right;
+        boolean color;
+
+        Node(E key, Node<E> left, Node<E> right, boolean color){
+            this.key = key;
+            this.left = left;
+            this.right = right;
+            this.color = color;
+        }
+    }
+
+    private final Node<E> root;
+    private final int size;
+
+    private PersistentRBTree(Node<E> root, int size){
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 空树
+     * @param <E>
+     * @return
+     */
+    public static <E extends Comparable<E>> PersistentRBTree<E> empty(){
+        return (PersistentRBTree<E>) EMPTY;
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public boolean contains(E key){
+        return getNode(root, key) != null;
+    }
+
+    /**
+     * 添加，已存在时替换
+     * @param key
+     * @return 新树
+     */
+    public PersistentRBTree<E> add(E key){
+        int newSize = getNode(root, key) == null ? size + 1 : size;
+        Node<E> newRoot = add(root, key);
+        newRoot.color = BLACK;
+        return new PersistentRBTree<>(newRoot, newSize);
+    }
+
+    /**
+     * 删除
+     * @param key
+     * @return 新树，不存在时返回当前树
+     */
+    public PersistentRBTree<E> remove(E key){
+        if (getNode(root, key) == null){
+            return this;
+        }
+        Node<E> newRoot = copy(root);
+        // 根的两个子节点都是黑色时，根先变红，便于往下借节点
+        if (!isRed(newRoot.left) && !isRed(newRoot.right)){
+            newRoot.color = RED;
+        }
+        newRoot = remove(newRoot, key);
+        if (newRoot != null){
+            newRoot.color = BLACK;
+        }
+        return new PersistentRBTree<>(newRoot, size - 1);
+    }
+
+    /**
+     * 查找相等的元素
+     * @param key
+     * @return 不存在返回null
+     */
+    public E get(E key){
+        Node<E> node = getNode(root, key);
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * 从小到大遍历
+     * @param action
+     */
+    public void forEach(Consumer<? super E> action){
+        forEach(root, action);
+    }
+
+    private void forEach(Node<E> node, Consumer<? super E> action){
+        if (node == null){
+            return;
+        }
+        forEach(node.left, action);
+        action.accept(node.key);
+        forEach(node.right, action);
+    }
+
+    private Node<E> getNode(Node<E> node, E key){
+        while (node != null){
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0){
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * 复制节点，只有复制出的新节点可以修改
+     */
+    private static <E> Node<E> copy(Node<E> node){
+        return new Node<>(node.key, node.left, node.right, node.color);
+    }
+
+    private static boolean isRed(Node<?> node){
+        return node != null && node.color;
+    }
+
+    // 以下node参数都是本次修改中复制出的新节点，可以直接修改
+
+    private Node<E> add(Node<E> node, E key){
+        if (node == null){
+            return new Node<>(key, null, null, RED);
+        }
+        node = copy(node);
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0){
+            node.left = add(node.left, key);
+        }else if (cmp > 0){
+            node.right = add(node.right, key);
+        }else{
+            node.key = key;
+        }
+        return balance(node);
+    }
+
+    private Node<E> remove(Node<E> node, E key){
+        if (key.compareTo(node.key) < 0){
+            // 左子节点是2-节点时，从右边借一个节点或合并
+            if (!isRed(node.left) && !isRed(node.left.left)){
+                node = moveRedLeft(node);
+            }
+            node.left = remove(copy(node.left), key);
+        }else{
+            if (isRed(node.left)){
+                node = rightRotate(node);
+            }
+            if (key.compareTo(node.key) == 0 && node.right == null){
+                return null;
+            }
+            if (!isRed(node.right) && !isRed(node.right.left)){
+                node = moveRedRight(node);
+            }
+            if (key.compareTo(node.key) == 0){
+                // 用右子树最小节点代替自己
+                node.key = minimum(node.right).key;
+                node.right = removeMin(copy(node.right));
+            }else{
+                node.right = remove(copy(node.right), key);
+            }
+        }
+        return balance(node);
+    }
+
+    private Node<E> removeMin(Node<E> node){
+        if (node.left == null){
+            return null;
+        }
+        if (!isRed(node.left) && !isRed(node.left.left)){
+            node = moveRedLeft(node);
+        }
+        node.left = removeMin(copy(node.left));
+        return balance(node);
+    }
+
+    private Node<E> minimum(Node<E> node){
+        while (node.left != null){
+            node = node.left;
+        }
+        return node;
+    }
+
+    /**
+     * 恢复左倾：右红左旋，连续两个左红右旋，左右都红颜色翻转
+     */
+    private Node<E> balance(Node<E> node){
+        if (isRed(node.right) && !isRed(node.left)){
+            node = leftRotate(node);
+        }
+        if (isRed(node.left) && isRed(node.left.left)){
+            node = rightRotate(node);
+        }
+        if (isRed(node.left) && isRed(node.right)){
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<E> moveRedLeft(Node<E> node){
+        flipColors(node);
+        if (isRed(node.right.left)){
+            node.right = rightRotate(node.right);
+            node = leftRotate(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<E> moveRedRight(Node<E> node){
+        flipColors(node);
+        if (isRed(node.left.left)){
+            node = rightRotate(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<E> leftRotate(Node<E> node){
+        Node<E> x = copy(node.right);
+        node.right = x.left;
+        x.left = node;
+        x.color = node.color;
+        node.color = RED;
+        return x;
+    }
+
+    private Node<E> rightRotate(Node<E> node){
+        Node<E> x = copy(node.left);
+        node.left = x.right;
+        x.right = node;
+        x.color = node.color;
+        node.color = RED;
+        return x;
+    }
+
+    /**
+     * 自己和两个子节点颜色都取反，子节点先复制
+     */
+    private void flipColors(Node<E> node){
+        node.color = !node.color;
+        node.left = copy(node.left);
+        node.left.color = !node.left.color;
+        node.right = copy(node.right);
+        node.right.color = !node.right.color;
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder res = new StringBuilder();
+        res.append("size:").append(size).append(" [");
+        forEach(key -> res.append(key).append(' '));
+        return res.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        PersistentRBTree<Integer> v1 = empty();
+        for (int i = 0; i < 10; i++) {
+            v1 = v1.add(i);
+        }
+        PersistentRBTree<Integer> v2 = v1.remove(3).add(100);
+        PersistentRBTree<Integer> v3 = v2.remove(0);
+        System.out.println("v1:" + v1);
+        System.out.println("v2:" + v2);
+        System.out.println("v3:" + v3);
+
+        int size = 1000000;
+        PersistentRBTree<Integer> tree = empty();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            tree = tree.add(i);
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("add:" + (end - start));
+        // 保留每个版本的快照
+        Array<PersistentRBTree<Integer>> snapshots = new Array<>(100);
+        start = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            snapshots.insert(tree);
+            tree = tree.remove(i);
+        }
+        end = System.currentTimeMillis();
+        System.out.println("100个快照(毫秒):" + (end - start) + ", 第一个快照size:" + snapshots.get(0).getSize() + ", 当前size:" + tree.getSize());
+    }
+}
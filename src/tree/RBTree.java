@@ -3,6 +3,12 @@ package tree;
 import linear.Array;
 import utils.ArrayUtils;
 
+import java.util.Arrays;
+
+/**
+ * 左倾红黑树，红节点只能是左子节点，对应2-3树
+ * 有序数据可用fromSorted在O(n)内直接建树，有序的一批数据可用addAllSorted归并插入
+ */
 public class RBTree<E extends Comparable<E>> {
 
     private static final boolean RED = true;
@@ -131,6 +137,155 @@ public class RBTree<E extends Comparable<E>> {
         return node;
     }
 
+    /**
+     * 由有序数据建树，O(n)
+     * 按2-3树建树：黑高h = floor(log2(n+1))，黑高为h的2-3树可容纳[2^h-1, 3^h-1]个数据，
+     * 数据均分到各子树，放不进2-节点时用3-节点，3-节点的较小元素作为红色左子节点
+     * @param sorted 从小到大有序，重复数据保留最后一个
+     * @param <E>
+     * @return
+     */
+    public static <E extends Comparable<E>> RBTree<E> fromSorted(Array<E> sorted){
+        RBTree<E> tree = new RBTree<>();
+        Object[] data = Arrays.copyOf(sorted.rawData(), sorted.getSize());
+        tree.load(data, distinct(data, data.length));
+        return tree;
+    }
+
+    /**
+     * 由有序int数组建树，O(n)
+     * @param sorted 从小到大有序，重复数据只保留一个
+     * @return
+     */
+    public static RBTree<Integer> fromSorted(int[] sorted){
+        Object[] data = new Object[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            data[i] = sorted[i];
+        }
+        RBTree<Integer> tree = new RBTree<>();
+        tree.load(data, distinct(data, data.length));
+        return tree;
+    }
+
+    /**
+     * 批量插入有序数据
+     * 批量较小时逐个插入，O(mlogn)；否则中序取出原有数据与批量数据归并后重新建树，O(n+m)
+     * 与add一致，已存在的数据被批量中的数据替换
+     * @param sorted 从小到大有序
+     */
+    public void addAllSorted(Array<E> sorted){
+        int m = sorted.getSize();
+        if (m == 0){
+            return;
+        }
+        Object[] batch = sorted.rawData();
+        checkSorted(batch, m);
+        if ((long) m * (32 - Integer.numberOfLeadingZeros(size)) < size){
+            for (int i = 0; i < m; i++) {
+                add((E) batch[i]);
+            }
+            return;
+        }
+        int n = size;
+        Object[] old = new Object[n];
+        toArray(root, old, 0);
+        Object[] data = new Object[n + m];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        // 相等时原有数据在前，去重保留最后一个即批量中的数据
+        while (i < n || j < m){
+            if (j >= m || (i < n && ((E) old[i]).compareTo((E) batch[j]) <= 0)){
+                data[k++] = old[i++];
+            }else{
+                data[k++] = batch[j++];
+            }
+        }
+        load(data, distinct(data, k));
+    }
+
+    private void load(Object[] data, int n) {
+        int h = 31 - Integer.numberOfLeadingZeros(n + 1);
+        root = build(data, 0, n, h);
+        size = n;
+    }
+
+    /**
+     * data[from, from+n)建成黑高为h的子树，n在[2^h-1, 3^h-1]内，根为黑色
+     */
+    private Node build(Object[] data, int from, int n, int h) {
+        if (h == 0){
+            return null;
+        }
+        long max = pow3(h - 1) - 1;// 子树最多数据量
+        if (n - 1 <= 2 * max){
+            // 2-节点
+            int left = n / 2;
+            Node node = new Node((E) data[from + left]);
+            node.color = BLACK;
+            node.left = build(data, from, left, h - 1);
+            node.right = build(data, from + left + 1, n - 1 - left, h - 1);
+            return node;
+        }
+        // 3-节点，剩余数据分成三份
+        int rest = n - 2;
+        int a = (rest + 2) / 3;
+        int b = (rest - a + 1) / 2;
+        int c = rest - a - b;
+        Node red = new Node((E) data[from + a]);
+        red.left = build(data, from, a, h - 1);
+        red.right = build(data, from + a + 1, b, h - 1);
+        Node node = new Node((E) data[from + a + 1 + b]);
+        node.color = BLACK;
+        node.left = red;
+        node.right = build(data, from + a + b + 2, c, h - 1);
+        return node;
+    }
+
+    private static long pow3(int k) {
+        long res = 1;
+        for (int i = 0; i < k; i++) {
+            res *= 3;
+        }
+        return res;
+    }
+
+    /**
+     * 检查有序并去掉相邻重复数据，重复时保留最后一个，返回去重后的数据量
+     */
+    private static int distinct(Object[] data, int n) {
+        checkSorted(data, n);
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (k > 0 && ((Comparable) data[k - 1]).compareTo(data[i]) == 0){
+                data[k - 1] = data[i];
+            }else{
+                data[k++] = data[i];
+            }
+        }
+        return k;
+    }
+
+    private static void checkSorted(Object[] data, int n) {
+        for (int i = 1; i < n; i++) {
+            if (((Comparable) data[i - 1]).compareTo(data[i]) > 0){
+                throw new IllegalArgumentException("Error: data is not sorted at index: " + i);
+            }
+        }
+    }
+
+    /**
+     * 中序遍历放入data，从下标index开始，返回下一个下标
+     */
+    private int toArray(Node node, Object[] data, int index) {
+        if (node == null){
+            return index;
+        }
+        index = toArray(node.left, data, index);
+        data[index++] = node.key;
+        return toArray(node.right, data, index);
+    }
+
     // 返回以node为根节点的二分搜索树中，value所在的节点
     private Node getNode(Node node, E value){
 
@@ -271,5 +426,21 @@ public class RBTree<E extends Comparable<E>> {
         }
         System.out.println(redBlackTree);
         System.out.println("contains:" + redBlackTree.contains(10));
+
+        RBTree<Integer> tree = fromSorted(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+        System.out.println(tree);
+
+        Array<Integer> sorted = ArrayUtils.genOrderIntArray(1000000);
+        long start = System.currentTimeMillis();
+        fromSorted(sorted);
+        long end = System.currentTimeMillis();
+        System.out.println("fromSorted:" + (end - start));
+        start = System.currentTimeMillis();
+        RBTree<Integer> tree1 = new RBTree<>();
+        for (int i = 0; i < sorted.getSize(); i++) {
+            tree1.add(sorted.get(i));
+        }
+        end = System.currentTimeMillis();
+        System.out.println("add:" + (end - start));
     }
 }
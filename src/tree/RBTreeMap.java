@@ -0,0 +1,427 @@
+package tree;
+
+import linear.Array;
+import utils.ArrayUtils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 有序映射，左倾红黑树，每个节点保存键和值
+ * put/get/remove以及floor/ceiling/higher/lower都是O(logn)，删除使用2-3树的自顶向下删除，删除后仍然平衡
+ * range(lo,hi)返回按键从小到大的惰性迭代器，用显式栈保存待访问的祖先节点，不递归、不把结果放进数组，
+ * 总耗时O(logn+k)，额外内存O(logn)
+ * 注：迭代过程中修改映射，迭代结果不确定
+ */
+public class RBTreeMap<K extends Comparable<K>, V> {
+
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private static class Node<K, V> implements Map.Entry<K, V> {
+        K key;
+        V value;
+        Node<K, V> left, right;
+        boolean color;
+
+        Node(K key, V value){
+            this.key = key;
+            this.value = value;
+            color = RED;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private Node<K, V> root;
+    private int size;
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public boolean containsKey(K key){
+        return getNode(key) != null;
+    }
+
+    /**
+     * 查询键对应的值
+     * @param key
+     * @return 不存在返回null
+     */
+    public V get(K key){
+        Node<K, V> node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * 添加或替换
+     * @param key
+     * @param value
+     * @return 原来的值，不存在返回null
+     */
+    public V put(K key, V value){
+        if (key == null){
+            throw new IllegalArgumentException("key is null!");
+        }
+        Node<K, V> node = getNode(key);
+        if (node != null){
+            return node.setValue(value);
+        }
+        root = put(root, key, value);
+        root.color = BLACK;
+        size ++;
+        return null;
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value){
+        if (node == null){
+            return new Node<>(key, value);
+        }
+        if (key.compareTo(node.key) < 0){
+            node.left = put(node.left, key, value);
+        }else{
+            node.right = put(node.right, key, value);
+        }
+        return balance(node);
+    }
+
+    /**
+     * 删除
+     * @param key
+     * @return 删除的值，不存在返回null
+     */
+    public V remove(K key){
+        Node<K, V> node = getNode(key);
+        if (node == null){
+            return null;
+        }
+        V value = node.value;
+        // 根的两个子节点都是黑色时，根先变红，便于往下借节点
+        if (!isRed(root.left) && !isRed(root.right)){
+            root.color = RED;
+        }
+        root = remove(root, key);
+        if (root != null){
+            root.color = BLACK;
+        }
+        size --;
+        return value;
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key){
+        if (key.compareTo(node.key) < 0){
+            // 左子节点是2-节点时，从右边借一个节点或合并
+            if (!isRed(node.left) && !isRed(node.left.left)){
+                node = moveRedLeft(node);
+            }
+            node.left = remove(node.left, key);
+        }else{
+            if (isRed(node.left)){
+                node = rightRotate(node);
+            }
+            if (key.compareTo(node.key) == 0 && node.right == null){
+                return null;
+            }
+            if (!isRed(node.right) && !isRed(node.right.left)){
+                node = moveRedRight(node);
+            }
+            if (key.compareTo(node.key) == 0){
+                // 用右子树最小节点代替自己
+                Node<K, V> min = minimum(node.right);
+                node.key = min.key;
+                node.value = min.value;
+                node.right = removeMin(node.right);
+            }else{
+                node.right = remove(node.right, key);
+            }
+        }
+        return balance(node);
+    }
+
+    private Node<K, V> removeMin(Node<K, V> node){
+        if (node.left == null){
+            return null;
+        }
+        if (!isRed(node.left) && !isRed(node.left.left)){
+            node = moveRedLeft(node);
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private Node<K, V> minimum(Node<K, V> node){
+        while (node.left != null){
+            node = node.left;
+        }
+        return node;
+    }
+
+    private Node<K, V> getNode(K key){
+        Node<K, V> node = root;
+        while (node != null){
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0){
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * 小于等于key的最大键
+     * @param key
+     * @return 不存在返回null
+     */
+    public K floor(K key){
+        return lowerKey(key, true);
+    }
+
+    /**
+     * 小于key的最大键
+     * @param key
+     * @return 不存在返回null
+     */
+    public K lower(K key){
+        return lowerKey(key, false);
+    }
+
+    /**
+     * 大于等于key的最小键
+     * @param key
+     * @return 不存在返回null
+     */
+    public K ceiling(K key){
+        return higherKey(key, true);
+    }
+
+    /**
+     * 大于key的最小键
+     * @param key
+     * @return 不存在返回null
+     */
+    public K higher(K key){
+        return higherKey(key, false);
+    }
+
+    /**
+     * 从根往下，往右走时当前节点是候选，最后一个候选即结果
+     */
+    private K lowerKey(K key, boolean inclusive){
+        Node<K, V> node = root;
+        K res = null;
+        while (node != null){
+            int cmp = key.compareTo(node.key);
+            if (cmp > 0 || (inclusive && cmp == 0)){
+                res = node.key;
+                if (cmp == 0){
+                    break;
+                }
+                node = node.right;
+            }else{
+                node = node.left;
+            }
+        }
+        return res;
+    }
+
+    private K higherKey(K key, boolean inclusive){
+        Node<K, V> node = root;
+        K res = null;
+        while (node != null){
+            int cmp = key.compareTo(node.key);
+            if (cmp < 0 || (inclusive && cmp == 0)){
+                res = node.key;
+                if (cmp == 0){
+                    break;
+                }
+                node = node.left;
+            }else{
+                node = node.right;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * 键在[lo,hi]内的键值对，按键从小到大
+     * @param lo
+     * @param hi
+     * @return
+     */
+    public Iterator<Map.Entry<K, V>> range(K lo, K hi){
+        return new RangeIterator(lo, hi);
+    }
+
+    /**
+     * 中序遍历的迭代器
+     * 栈中是还没访问的节点，栈顶是下一个节点；弹出一个节点后，把它右子树中不小于lo的左链压栈
+     */
+    private class RangeIterator implements Iterator<Map.Entry<K, V>> {
+        private final K lo;
+        private final K hi;
+        private final Array<Node<K, V>> stack = new Array<>(64);
+
+        RangeIterator(K lo, K hi){
+            this.lo = lo;
+            this.hi = hi;
+            pushLeft(root);
+        }
+
+        /**
+         * 从node往左走，小于lo的节点及其左子树都不在范围内，转到右子节点
+         */
+        private void pushLeft(Node<K, V> node){
+            while (node != null){
+                if (node.key.compareTo(lo) < 0){
+                    node = node.right;
+                }else{
+                    stack.insert(node);
+                    node = node.left;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && stack.get(stack.getSize() - 1).key.compareTo(hi) <= 0;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()){
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = stack.get(stack.getSize() - 1);
+            stack.remove(stack.getSize() - 1);
+            pushLeft(node.right);
+            return node;
+        }
+    }
+
+    private boolean isRed(Node<K, V> node){
+        return node != null && node.color;
+    }
+
+    /**
+     * 恢复左倾：右红左旋，连续两个左红右旋，左右都红颜色翻转
+     */
+    private Node<K, V> balance(Node<K, V> node){
+        if (isRed(node.right) && !isRed(node.left)){
+            node = leftRotate(node);
+        }
+        if (isRed(node.left) && isRed(node.left.left)){
+            node = rightRotate(node);
+        }
+        if (isRed(node.left) && isRed(node.right)){
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<K, V> moveRedLeft(Node<K, V> node){
+        flipColors(node);
+        if (isRed(node.right.left)){
+            node.right = rightRotate(node.right);
+            node = leftRotate(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<K, V> moveRedRight(Node<K, V> node){
+        flipColors(node);
+        if (isRed(node.left.left)){
+            node = rightRotate(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private Node<K, V> leftRotate(Node<K, V> node){
+        Node<K, V> x = node.right;
+        node.right = x.left;
+        x.left = node;
+        x.color = node.color;
+        node.color = RED;
+        return x;
+    }
+
+    private Node<K, V> rightRotate(Node<K, V> node){
+        Node<K, V> x = node.left;
+        node.left = x.right;
+        x.right = node;
+        x.color = node.color;
+        node.color = RED;
+        return x;
+    }
+
+    /**
+     * 自己和两个子节点颜色都取反
+     */
+    private void flipColors(Node<K, V> node){
+        node.color = !node.color;
+        node.left.color = !node.left.color;
+        node.right.color = !node.right.color;
+    }
+
+    public static void main(String[] args) {
+        RBTreeMap<Integer, String> map = new RBTreeMap<>();
+        for (int i = 0; i < 20; i += 2) {
+            map.put(i, "v" + i);
+        }
+        map.remove(6);
+        System.out.println("get(4):" + map.get(4));
+        System.out.println("floor(7):" + map.floor(7) + ", lower(8):" + map.lower(8));
+        System.out.println("ceiling(7):" + map.ceiling(7) + ", higher(8):" + map.higher(8));
+        Iterator<Map.Entry<Integer, String>> iterator = map.range(3, 13);
+        while (iterator.hasNext()){
+            System.out.print(iterator.next() + " ");
+        }
+        System.out.println();
+
+        Array<Integer> array = ArrayUtils.genRandomIntArray(1000000, 10000000);
+        RBTreeMap<Integer, Integer> map1 = new RBTreeMap<>();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < array.getSize(); i++) {
+            map1.put(array.get(i), i);
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("put:" + (end - start) + ", size:" + map1.getSize());
+        start = System.nanoTime();
+        int count = 0;
+        Iterator<Map.Entry<Integer, Integer>> iterator1 = map1.range(5000000, 5010000);
+        while (iterator1.hasNext()){
+            iterator1.next();
+            count++;
+        }
+        end = System.nanoTime();
+        System.out.println("range遍历" + count + "个(纳秒):" + (end - start));
+    }
+}
@@ -0,0 +1,132 @@
+package tree;
+
+import linear.IntArray;
+import utils.ArrayUtils;
+
+/**
+ * 支持区间加的树状数组(两个树状数组)
+ * 对差分数组d(d[i]=a[i]-a[i-1])建树，区间[l,r]加delta只需修改d[l]和d[r+1]
+ * 前缀和 sum(a[1..i]) = (i+1)*sum(d[1..i]) - sum(j*d[j], j=1..i)，分别用b1、b2两个树状数组维护
+ * 区间加和区间求和都是O(logn)，内部下标从1开始，对外下标从0开始
+ */
+public class RangeFenwickTree {
+
+    private final int n;
+    private final long[] b1;// d[j]
+    private final long[] b2;// j*d[j]
+
+    public RangeFenwickTree(int n){
+        if (n <= 0){
+            throw new IllegalArgumentException("n <= 0");
+        }
+        this.n = n;
+        this.b1 = new long[n + 1];
+        this.b2 = new long[n + 1];
+    }
+
+    /**
+     * 先写入差分数组，再线性构建两个树状数组，O(n)
+     * @param array
+     */
+    public RangeFenwickTree(IntArray array){
+        this(array.getSize());
+        int[] data = array.rawData();
+        long pre = 0;
+        for (int i = 1; i <= n; i++) {
+            long d = data[i - 1] - pre;
+            pre = data[i - 1];
+            b1[i] = d;
+            b2[i] = d * i;
+        }
+        for (int i = 1; i <= n; i++) {
+            int j = i + (i & -i);
+            if (j <= n){
+                b1[j] += b1[i];
+                b2[j] += b2[i];
+            }
+        }
+    }
+
+    public int getSize(){
+        return n;
+    }
+
+    /**
+     * 区间[l,r]每个值加上delta
+     * @param l
+     * @param r
+     * @param delta
+     */
+    public void add(int l, int r, long delta){
+        check(l, r);
+        update(l + 1, delta);
+        update(r + 2, -delta);
+    }
+
+    /**
+     * 单点加
+     * @param index
+     * @param delta
+     */
+    public void add(int index, long delta){
+        add(index, index, delta);
+    }
+
+    /**
+     * 前缀和，区间[0,index]
+     * @param index
+     * @return
+     */
+    public long prefixSum(int index){
+        check(index, index);
+        int i = index + 1;
+        long s1 = 0;
+        long s2 = 0;
+        for (int j = i; j > 0; j -= j & -j) {
+            s1 += b1[j];
+            s2 += b2[j];
+        }
+        return s1 * (i + 1) - s2;
+    }
+
+    /**
+     * 区间[l,r]的和
+     * @param l
+     * @param r
+     * @return
+     */
+    public long sum(int l, int r){
+        check(l, r);
+        return l == 0 ? prefixSum(r) : prefixSum(r) - prefixSum(l - 1);
+    }
+
+    public long get(int index){
+        return sum(index, index);
+    }
+
+    private void update(int i, long delta) {
+        long delta2 = delta * i;
+        for (; i <= n; i += i & -i) {
+            b1[i] += delta;
+            b2[i] += delta2;
+        }
+    }
+
+    private void check(int l, int r) {
+        if (l < 0 || l > r || r >= n){
+            throw new IllegalArgumentException("Error: illegal range [" + l + "," + r + "], size: " + n);
+        }
+    }
+
+    public static void main(String[] args) {
+        int size = 10000000;
+        IntArray array = ArrayUtils.genRandomInts(size, 100000);
+        RangeFenwickTree fenwickTree = new RangeFenwickTree(array);
+        System.out.println(fenwickTree.sum(500000, 509988));
+        long start = System.nanoTime();
+        fenwickTree.add(500000, 509988, 5);
+        long end = System.nanoTime();
+        System.out.println("区间加(纳秒):"+(end - start));
+        System.out.println(fenwickTree.sum(500000, 509988));
+    }
+}
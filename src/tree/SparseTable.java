@@ -0,0 +1,166 @@
+package tree;
+
+import linear.Array;
+import linear.IntArray;
+import utils.ArrayUtils;
+
+/**
+ * 稀疏表，静态区间最小值查询
+ * 适用于加载后不再修改的数据，构建O(n)，查询O(1)，不递归也不分配内存
+ * 数据按64个一块分块：
+ * (1)块间：对每块最小值建立稀疏表，table[k][b]表示第b块开始的2^k块中最小值的下标，任意块区间用两个重叠的2^k段覆盖
+ * (2)块内：从左到右扫描时维护单调栈(栈中元素不大于其后所有元素)，用一个long的位记录栈中元素，查询[l,r]时取masks[r]中不小于l的最低位即为最小值位置
+ * 稀疏表只建立在n/64个块上，内存约为12n字节，远小于直接对n个元素建立的O(nlogn)稀疏表
+ */
+public class SparseTable {
+
+    private static final int BLOCK_BITS = 6;
+    private static final int BLOCK = 1 << BLOCK_BITS;
+
+    private final int n;
+    private final int[] values;
+    private final long[] masks;// 块内单调栈位图
+    private final int[][] table;// 块间稀疏表，存放元素下标
+
+    public SparseTable(IntArray array){
+        this(copyOf(array), array.getSize());
+    }
+
+    public SparseTable(Array<Integer> array){
+        this(copyOf(array), array.getSize());
+    }
+
+    private SparseTable(int[] values, int n){
+        if (n <= 0){
+            throw new IllegalArgumentException("区间不能有空");
+        }
+        this.n = n;
+        this.values = values;
+        this.masks = new long[n];
+        buildMasks();
+
+        int blocks = (n + BLOCK - 1) >> BLOCK_BITS;
+        int levels = 32 - Integer.numberOfLeadingZeros(blocks);
+        table = new int[levels][];
+        table[0] = new int[blocks];
+        for (int b = 0; b < blocks; b++) {
+            table[0][b] = inBlock(b << BLOCK_BITS, Math.min(n, (b + 1) << BLOCK_BITS) - 1);
+        }
+        for (int k = 1; k < levels; k++) {
+            int len = blocks - (1 << k) + 1;
+            table[k] = new int[len];
+            for (int b = 0; b < len; b++) {
+                table[k][b] = min(table[k-1][b], table[k-1][b + (1 << (k-1))]);
+            }
+        }
+    }
+
+    private static int[] copyOf(IntArray array) {
+        int[] values = new int[array.getSize()];
+        System.arraycopy(array.rawData(), 0, values, 0, values.length);
+        return values;
+    }
+
+    private static int[] copyOf(Array<Integer> array) {
+        int[] values = new int[array.getSize()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i);
+        }
+        return values;
+    }
+
+    /**
+     * 每块从左到右扫描，弹出比当前元素大的栈顶，再把当前元素入栈
+     * 相等时不弹出，查询结果是最左边的最小值
+     */
+    private void buildMasks() {
+        long stack = 0;
+        for (int i = 0; i < n; i++) {
+            int offset = i & (BLOCK - 1);
+            if (offset == 0){
+                stack = 0;
+            }
+            int start = i - offset;
+            while (stack != 0 && values[start + 63 - Long.numberOfLeadingZeros(stack)] > values[i]){
+                stack &= ~Long.highestOneBit(stack);
+            }
+            stack |= 1L << offset;
+            masks[i] = stack;
+        }
+    }
+
+    public int getSize(){
+        return n;
+    }
+
+    /**
+     * 区间[l,r]内最小值
+     * @param l
+     * @param r
+     * @return
+     */
+    public int query(int l, int r){
+        return values[queryIndex(l, r)];
+    }
+
+    /**
+     * 区间[l,r]内最小值的下标，有多个时返回最左边的
+     * @param l
+     * @param r
+     * @return
+     */
+    public int queryIndex(int l, int r){
+        if (l < 0 || l > r || r >= n){
+            throw new IllegalArgumentException("Error: illegal range [" + l + "," + r + "], size: " + n);
+        }
+        int bl = l >> BLOCK_BITS;
+        int br = r >> BLOCK_BITS;
+        if (bl == br){
+            return inBlock(l, r);
+        }
+        // 左边不完整块、中间完整块、右边不完整块，从左到右取最小，相等取左边
+        int index = inBlock(l, ((bl + 1) << BLOCK_BITS) - 1);
+        if (br - bl > 1){
+            index = min(index, blocks(bl + 1, br - 1));
+        }
+        return min(index, inBlock(br << BLOCK_BITS, r));
+    }
+
+    /**
+     * 同一块内[l,r]最小值下标
+     */
+    private int inBlock(int l, int r) {
+        long mask = masks[r] & (-1L << (l & (BLOCK - 1)));
+        return (r & ~(BLOCK - 1)) + Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * 块区间[bl,br]最小值下标，用两个长度为2^k的段覆盖
+     */
+    private int blocks(int bl, int br) {
+        int k = 31 - Integer.numberOfLeadingZeros(br - bl + 1);
+        return min(table[k][bl], table[k][br - (1 << k) + 1]);
+    }
+
+    /**
+     * 两个下标中值较小的，相等取第一个
+     */
+    private int min(int i, int j) {
+        return values[j] < values[i] ? j : i;
+    }
+
+    public static void main(String[] args) {
+        int size  = 10000000;
+        int bond = 100000;
+        IntArray array = ArrayUtils.genRandomInts(size, bond);
+        long start = System.nanoTime();
+        SparseTable sparseTable = new SparseTable(array);
+        long end = System.nanoTime();
+        System.out.println("生成稀疏表(纳秒):"+(end - start));
+
+        start = System.nanoTime();
+        System.out.println(sparseTable.query(500000, 509988));
+        end = System.nanoTime();
+        System.out.println("查询区间数据(纳秒):"+(end - start));
+    }
+}
@@ -1,4 +1,353 @@
 package tree;
 
+import linear.IntArray;
+import utils.ArrayUtils;
+import utils.RangeMerger;
+
+import java.util.Arrays;
+
+/**
+ * 平方根分解
+ * 数组按约√n个一块分块，每块保存聚集值和懒标记，区间操作拆成两端的不完整块和中间的完整块：
+ * 不完整块逐个元素处理后重新计算块聚集值，完整块只处理块聚集值和标记，区间查询、区间修改、单点修改都是O(√n)
+ * 数据和块信息都是连续的基本类型数组，块大小取8的倍数，按64字节缓存行对齐块内long数据
+ * 同一块上赋值标记和加标记不会同时存在：先赋值后加，直接加到赋值标记上；先加后赋值，加标记作废
+ * 另提供Mo算法，离线处理一批区间查询
+ */
 public class Sqrt {
+
+    /**
+     * 一个缓存行可放的long个数
+     */
+    private static final int LINE = 8;
+
+    private final int n;
+    private final int blockSize;
+    private final RangeMerger merger;// 实现块聚集逻辑
+    private final long[] values;
+    private final long[] blockValue;// 块聚集值，已包含标记
+    private final long[] addTag;
+    private final long[] assignTag;
+    private final boolean[] hasAssign;
+
+    public Sqrt(IntArray array, RangeMerger merger){
+        if (array == null || array.isEmpty()){
+            throw new IllegalArgumentException("区间不能有空");
+        }
+        this.n = array.getSize();
+        this.merger = merger;
+        this.blockSize = blockSize(n);
+        this.values = new long[n];
+        int[] data = array.rawData();
+        for (int i = 0; i < n; i++) {
+            values[i] = data[i];
+        }
+        int blocks = (n + blockSize - 1) / blockSize;
+        this.blockValue = new long[blocks];
+        this.addTag = new long[blocks];
+        this.assignTag = new long[blocks];
+        this.hasAssign = new boolean[blocks];
+        for (int b = 0; b < blocks; b++) {
+            rebuild(b);
+        }
+    }
+
+    /**
+     * 块大小，√n向上取整到缓存行的整数倍
+     */
+    private static int blockSize(int n) {
+        int size = (int) Math.ceil(Math.sqrt(n));
+        return (size + LINE - 1) / LINE * LINE;
+    }
+
+    public int getSize(){
+        return n;
+    }
+
+    public long get(int index){
+        check(index, index);
+        return value(index);
+    }
+
+    /**
+     * 单点修改，下推所在块的标记后修改，再重新计算块聚集值
+     * @param index
+     * @param value
+     */
+    public void set(int index, long value){
+        check(index, index);
+        int b = index / blockSize;
+        pushDown(b);
+        values[index] = value;
+        rebuild(b);
+    }
+
+    /**
+     * 查询区间[l,r]内聚集数据
+     * @param l
+     * @param r
+     * @return
+     */
+    public long query(int l, int r){
+        check(l, r);
+        int bl = l / blockSize;
+        int br = r / blockSize;
+        long res = value(l);
+        if (bl == br){
+            for (int i = l + 1; i <= r; i++) {
+                res = merger.merge(res, value(i));
+            }
+            return res;
+        }
+        int end = (bl + 1) * blockSize;
+        for (int i = l + 1; i < end; i++) {
+            res = merger.merge(res, value(i));
+        }
+        for (int b = bl + 1; b < br; b++) {
+            res = merger.merge(res, blockValue[b]);
+        }
+        for (int i = br * blockSize; i <= r; i++) {
+            res = merger.merge(res, value(i));
+        }
+        return res;
+    }
+
+    /**
+     * 区间[l,r]每个值加上delta
+     * @param l
+     * @param r
+     * @param delta
+     */
+    public void add(int l, int r, long delta){
+        update(l, r, false, delta);
+    }
+
+    /**
+     * 区间[l,r]每个值赋为value
+     * @param l
+     * @param r
+     * @param value
+     */
+    public void assign(int l, int r, long value){
+        update(l, r, true, value);
+    }
+
+    private void update(int l, int r, boolean isAssign, long value) {
+        check(l, r);
+        int bl = l / blockSize;
+        int br = r / blockSize;
+        if (bl == br){
+            updatePart(bl, l, r, isAssign, value);
+            return;
+        }
+        updatePart(bl, l, (bl + 1) * blockSize - 1, isAssign, value);
+        for (int b = bl + 1; b < br; b++) {
+            int length = blockLength(b);
+            if (isAssign){
+                blockValue[b] = merger.assign(value, length);
+                assignTag[b] = value;
+                hasAssign[b] = true;
+                addTag[b] = 0;
+            }else{
+                blockValue[b] = merger.add(blockValue[b], value, length);
+                if (hasAssign[b]){
+                    assignTag[b] += value;
+                }else{
+                    addTag[b] += value;
+                }
+            }
+        }
+        updatePart(br, br * blockSize, r, isAssign, value);
+    }
+
+    /**
+     * 不完整块逐个修改
+     */
+    private void updatePart(int b, int l, int r, boolean isAssign, long value) {
+        pushDown(b);
+        for (int i = l; i <= r; i++) {
+            values[i] = isAssign ? value : values[i] + value;
+        }
+        rebuild(b);
+    }
+
+    /**
+     * 元素实际值，叠加所在块的标记
+     */
+    private long value(int index) {
+        int b = index / blockSize;
+        return hasAssign[b] ? assignTag[b] : values[index] + addTag[b];
+    }
+
+    /**
+     * 块标记写入块内元素
+     */
+    private void pushDown(int b) {
+        int from = b * blockSize;
+        int to = from + blockLength(b);
+        if (hasAssign[b]){
+            Arrays.fill(values, from, to, assignTag[b]);
+            hasAssign[b] = false;
+        }else if (addTag[b] != 0){
+            for (int i = from; i < to; i++) {
+                values[i] += addTag[b];
+            }
+            addTag[b] = 0;
+        }
+    }
+
+    /**
+     * 重新计算块聚集值，块上不能有标记
+     */
+    private void rebuild(int b) {
+        int from = b * blockSize;
+        int to = from + blockLength(b);
+        long res = values[from];
+        for (int i = from + 1; i < to; i++) {
+            res = merger.merge(res, values[i]);
+        }
+        blockValue[b] = res;
+    }
+
+    private int blockLength(int b) {
+        return Math.min(blockSize, n - b * blockSize);
+    }
+
+    private void check(int l, int r) {
+        if (l < 0 || l > r || r >= n){
+            throw new IllegalArgumentException("Error: illegal range [" + l + "," + r + "], size: " + n);
+        }
+    }
+
+    /**
+     * Mo算法的滑动窗口，窗口内元素增减时维护答案
+     */
+    public interface MoWindow {
+        /**
+         * 下标index进入窗口
+         */
+        void add(int index);
+
+        /**
+         * 下标index离开窗口
+         */
+        void remove(int index);
+
+        /**
+         * 当前窗口的答案
+         */
+        long answer();
+    }
+
+    /**
+     * Mo算法，离线批量区间查询
+     * 窗口[l,r]每次只移动一格，查询按左端点所在块排序，同一块内按右端点排序(奇偶块交替升降序)
+     * 块大小取n/√q，左指针每次查询移动不超过一块，右指针在每块内单调移动，总移动次数O((n+q)√n)
+     * @param n 数据长度
+     * @param lefts 各查询左端点
+     * @param rights 各查询右端点
+     * @param window
+     * @return 按原查询顺序的答案
+     */
+    public static long[] mo(int n, int[] lefts, int[] rights, MoWindow window){
+        int q = lefts.length;
+        if (rights.length != q){
+            throw new IllegalArgumentException("lefts.length != rights.length");
+        }
+        for (int i = 0; i < q; i++) {
+            if (lefts[i] < 0 || lefts[i] > rights[i] || rights[i] >= n){
+                throw new IllegalArgumentException("Error: illegal range [" + lefts[i] + "," + rights[i] + "], size: " + n);
+            }
+        }
+        int block = Math.max(1, (int) (n / Math.sqrt(Math.max(q, 1))));
+        Integer[] order = new Integer[q];
+        for (int i = 0; i < q; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> {
+            int bx = lefts[x] / block;
+            int by = lefts[y] / block;
+            if (bx != by){
+                return Integer.compare(bx, by);
+            }
+            return (bx & 1) == 0 ? Integer.compare(rights[x], rights[y]) : Integer.compare(rights[y], rights[x]);
+        });
+
+        long[] answers = new long[q];
+        // 当前窗口[l,r]，初始为空
+        int l = 0;
+        int r = -1;
+        for (int k = 0; k < q; k++) {
+            int i = order[k];
+            while (r < rights[i]){
+                window.add(++r);
+            }
+            while (l > lefts[i]){
+                window.add(--l);
+            }
+            while (r > rights[i]){
+                window.remove(r--);
+            }
+            while (l < lefts[i]){
+                window.remove(l++);
+            }
+            answers[i] = window.answer();
+        }
+        return answers;
+    }
+
+    public static void main(String[] args) {
+        int size = 1000000;
+        int bond = 100000;
+        IntArray array = ArrayUtils.genRandomInts(size, bond);
+        Sqrt sqrt = new Sqrt(array, RangeMerger.MIN);
+        long start = System.nanoTime();
+        System.out.println(sqrt.query(500000, 509988));
+        long end = System.nanoTime();
+        System.out.println("查询区间数据(纳秒):"+(end - start));
+
+        start = System.nanoTime();
+        sqrt.add(500000, 509988, 5);
+        end = System.nanoTime();
+        System.out.println("区间加(纳秒):"+(end - start));
+        System.out.println(sqrt.query(500000, 509988));
+
+        // Mo算法：区间内不同值的个数
+        int q = 100000;
+        int[] lefts = new int[q];
+        int[] rights = new int[q];
+        IntArray l = ArrayUtils.genRandomInts(q, size);
+        for (int i = 0; i < q; i++) {
+            lefts[i] = l.get(i);
+            rights[i] = Math.min(size - 1, lefts[i] + 1000);
+        }
+        int[] data = array.rawData();
+        int[] counts = new int[bond];
+        start = System.nanoTime();
+        long[] answers = mo(size, lefts, rights, new MoWindow() {
+            long distinct = 0;
+
+            @Override
+            public void add(int index) {
+                if (counts[data[index]]++ == 0){
+                    distinct++;
+                }
+            }
+
+            @Override
+            public void remove(int index) {
+                if (--counts[data[index]] == 0){
+                    distinct--;
+                }
+            }
+
+            @Override
+            public long answer() {
+                return distinct;
+            }
+        });
+        end = System.nanoTime();
+        System.out.println("Mo算法" + q + "次查询(纳秒):"+(end - start));
+        System.out.println("[" + lefts[0] + "," + rights[0] + "]不同值个数:" + answers[0]);
+    }
 }
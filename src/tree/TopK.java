@@ -0,0 +1,221 @@
+package tree;
+
+import linear.Array;
+import utils.ArrayUtils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 最大的K个元素
+ * 用大小为K的最小堆保存当前最大的K个元素，堆顶是其中最小的，即进入前K的门槛：
+ * 新元素不大于堆顶直接丢弃，否则替换堆顶再下沉(同MaxHeap.replace)，内存O(K)，时间O(nlogK)，
+ * 数据量远大于K时绝大多数元素只和堆顶比较一次
+ * 并行版本：数据按下标切成若干段，每段各自求前K，再把各段结果合并
+ * 注：与门槛相等的元素不替换，相等元素保留先加入的
+ */
+public class TopK<E extends Comparable> {
+
+    /**
+     * 数据量小于该值时不并行
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int k;
+    private final Object[] heap;
+    private int size;
+
+    /**
+     * @param k 保留的元素个数
+     */
+    public TopK(int k){
+        if (k <= 0){
+            throw new IllegalArgumentException("k <= 0, k: " + k);
+        }
+        this.k = k;
+        this.heap = new Object[k];
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * 进入前K的门槛，未满K个时为null
+     * @return
+     */
+    public E threshold(){
+        return size < k ? null : (E) heap[0];
+    }
+
+    /**
+     * 添加一个元素
+     * @param value
+     */
+    public void add(E value){
+        if (size < k){
+            heap[size] = value;
+            up(size++);
+        }else if (value.compareTo(heap[0]) > 0){
+            heap[0] = value;
+            down(0);
+        }
+    }
+
+    /**
+     * 批量添加
+     * @param values
+     */
+    public void addAll(Array<E> values){
+        addAll(values.rawData(), 0, values.getSize());
+    }
+
+    /**
+     * 批量添加data[from,to)
+     */
+    private void addAll(Object[] data, int from, int to) {
+        int i = from;
+        for (; i < to && size < k; i++) {
+            heap[size] = data[i];
+            up(size++);
+        }
+        // 已满K个，门槛在堆顶
+        for (; i < to; i++) {
+            if (((E) data[i]).compareTo(heap[0]) > 0){
+                heap[0] = data[i];
+                down(0);
+            }
+        }
+    }
+
+    /**
+     * 合并另一个前K的结果
+     * @param other
+     */
+    public void merge(TopK<E> other){
+        addAll(other.heap, 0, other.size);
+    }
+
+    /**
+     * 当前前K个元素，从大到小
+     * @return
+     */
+    public Array<E> result(){
+        Object[] data = new Object[size];
+        System.arraycopy(heap, 0, data, 0, size);
+        // 最小堆原地排序，每次把最小的换到末尾，得到从大到小
+        for (int n = size - 1; n > 0; n--) {
+            ArrayUtils.swap(data, 0, n);
+            down(data, 0, n);
+        }
+        Array<E> array = new Array<>(Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            array.insert((E) data[i]);
+        }
+        return array;
+    }
+
+    /**
+     * 并行求前K
+     * 每段各自用一个TopK收集，最后合并，段数不超过并行度
+     * @param values
+     * @param k
+     * @param <E>
+     * @return
+     */
+    public static <E extends Comparable> TopK<E> parallel(Array<E> values, int k){
+        int n = values.getSize();
+        Object[] data = values.rawData();
+        int chunks = n < PARALLEL_THRESHOLD ? 1 : Math.min(ForkJoinPool.commonPool().getParallelism(), n / PARALLEL_THRESHOLD);
+        chunks = Math.max(1, chunks);
+        TopK<E>[] parts = new TopK[chunks];
+        int c = chunks;
+        IntStream.range(0, chunks).parallel().forEach(p -> {
+            TopK<E> part = new TopK<>(k);
+            part.addAll(data, (int) ((long) n * p / c), (int) ((long) n * (p + 1) / c));
+            parts[p] = part;
+        });
+        TopK<E> res = parts[0];
+        for (int p = 1; p < chunks; p++) {
+            res.merge(parts[p]);
+        }
+        return res;
+    }
+
+    /**
+     * 上浮，比元素大的父节点依次下移
+     */
+    private void up(int i) {
+        Object value = heap[i];
+        while (i > 0){
+            int p = (i - 1) / 2;
+            if (((E) heap[p]).compareTo(value) <= 0){
+                break;
+            }
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = value;
+    }
+
+    private void down(int i) {
+        down(heap, i, size);
+    }
+
+    /**
+     * 最小堆下沉，左右子中较小的比元素小时上移
+     */
+    private static void down(Object[] data, int i, int n) {
+        Comparable value = (Comparable) data[i];
+        while (true){
+            int c = 2 * i + 1;
+            if (c >= n){
+                break;
+            }
+            if (c + 1 < n && ((Comparable) data[c + 1]).compareTo(data[c]) < 0){
+                c++;
+            }
+            if (((Comparable) data[c]).compareTo(value) >= 0){
+                break;
+            }
+            data[i] = data[c];
+            i = c;
+        }
+        data[i] = value;
+    }
+
+    public static void main(String[] args) {
+        int size = 10000000;
+        int k = 100;
+        Array<Integer> array = ArrayUtils.genRandomIntArray(size, Integer.MAX_VALUE);
+
+        long start = System.currentTimeMillis();
+        TopK<Integer> topK = new TopK<>(k);
+        for (int i = 0; i < size; i++) {
+            topK.add(array.get(i));
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("TopK:" + (end - start));
+
+        start = System.currentTimeMillis();
+        TopK<Integer> topK1 = parallel(array, k);
+        end = System.currentTimeMillis();
+        System.out.println("TopK(parallel):" + (end - start));
+
+        start = System.currentTimeMillis();
+        MaxHeap<Integer> maxHeap = new MaxHeap<>(array);
+        for (int i = 0; i < k; i++) {
+            maxHeap.extractMax();
+        }
+        end = System.currentTimeMillis();
+        System.out.println("MaxHeap:" + (end - start));
+
+        Array<Integer> result = topK.result();
+        Array<Integer> result1 = topK1.result();
+        System.out.println("最大:" + result.get(0) + ", 第" + k + "大:" + result.get(k - 1) + ", 并行结果一致:" + result.toString().equals(result1.toString()));
+    }
+}
@@ -1,30 +1,153 @@
 package tree;
 
-import java.util.HashSet;
+import linear.Array;
+import linear.MyQueue;
+
+import java.util.Arrays;
 
 /**
  * 前缀树
  * 多叉树，字符串从头到尾放入树中，每个字符放一层，直到最后一个放完，该节点打上完整字符串的标识即可
  * 时间复杂度与查询的字符串长度有关，与树中字符串数量无关
  * 主要用于解决字符串查询问题，允许重复字符串
+ * 子节点存储：子节点少时用按字符排序的keys/childs两个数组，超过SPARSE_LIMIT个后改为按字符下标直接访问的稠密数组
+ * 多模式匹配(Aho-Corasick)：全部add完成后调用build，为每个节点建立失配指针和输出指针，之后一次线性扫描文本即可找出所有出现的单词
  */
 public class Trie {
+
+    /**
+     * 合法字符范围['A','z']
+     */
+    private static final char MIN_CHAR = 'A';
+    private static final char MAX_CHAR = 'z';
+    private static final int ALPHABET = MAX_CHAR - MIN_CHAR + 1;
+
+    /**
+     * 稀疏存储的最大子节点数，超过后转为稠密数组
+     */
+    private static final int SPARSE_LIMIT = 8;
+
     class Node{
-        Character value ;
-        HashSet<Node> childs;
+        char value ;
+        // 稀疏时childs[0,childSize)与keys一一对应且按字符有序；稠密时keys为null，childs[c-MIN_CHAR]即字符c的子节点
+        char[] keys;
+        Node[] childs;
+        int childSize = 0;
         int count = 0;// 前缀字符串计数
         int wordCount = 0;// 同一字符串计数
         boolean isWord;
+        int depth;// 节点深度，即前缀长度
+        String word;// 单词节点对应的完整字符串
+        Node fail;// 失配指针，指向当前前缀的最长真后缀所在节点
+        Node output;// 输出指针，沿失配链最近的单词节点
 
-        Node(Character value, boolean isWord){
+        Node(char value, boolean isWord){
             this.value = value;
-            childs = new HashSet<>();
             this.isWord = isWord;
         }
+
+        /**
+         * 查找字符对应子节点，稠密时O(1)，稀疏时在有序keys中查找
+         * @param c
+         * @return 不存在返回null
+         */
+        Node getChild(char c){
+            if (childs == null){
+                return null;
+            }
+            if (keys == null){
+                return childs[c - MIN_CHAR];
+            }
+            int i = Arrays.binarySearch(keys, 0, childSize, c);
+            return i >= 0 ? childs[i] : null;
+        }
+
+        /**
+         * 获取字符对应子节点，不存在则创建
+         * @param c
+         * @return
+         */
+        Node getOrAddChild(char c){
+            if (childs == null){
+                keys = new char[2];
+                childs = new Node[2];
+            }
+            if (keys == null){
+                Node child = childs[c - MIN_CHAR];
+                if (child == null){
+                    child = new Node(c, false);
+                    childs[c - MIN_CHAR] = child;
+                    childSize++;
+                }
+                return child;
+            }
+            int i = Arrays.binarySearch(keys, 0, childSize, c);
+            if (i >= 0){
+                return childs[i];
+            }
+            Node child = new Node(c, false);
+            if (childSize == SPARSE_LIMIT){
+                toDense();
+                childs[c - MIN_CHAR] = child;
+                childSize++;
+                return child;
+            }
+            // 有序插入，插入点后的元素后移
+            i = -(i + 1);
+            if (childSize == keys.length){
+                keys = Arrays.copyOf(keys, childSize * 2);
+                childs = Arrays.copyOf(childs, childSize * 2);
+            }
+            System.arraycopy(keys, i, keys, i + 1, childSize - i);
+            System.arraycopy(childs, i, childs, i + 1, childSize - i);
+            keys[i] = c;
+            childs[i] = child;
+            childSize++;
+            return child;
+        }
+
+        private void toDense(){
+            Node[] dense = new Node[ALPHABET];
+            for (int i = 0; i < childSize; i++) {
+                dense[keys[i] - MIN_CHAR] = childs[i];
+            }
+            childs = dense;
+            keys = null;
+        }
     }
 
-    Node root = new Node(null, false);// 根节点为空节点
+    Node root = new Node((char) 0, false);// 根节点为空节点
     int size = 0;
+    boolean built = false;// 失配指针是否已建立，add后失效
+
+    /**
+     * 匹配结果回调
+     */
+    public interface MatchHandler {
+        /**
+         * @param start 单词在文本中的起始位置
+         * @param word 匹配到的单词
+         */
+        void onMatch(long start, String word);
+    }
+
+    /**
+     * 匹配结果
+     */
+    public static class Match {
+        public final long start;
+        public final String word;
+
+        Match(long start, String word){
+            this.start = start;
+            this.word = word;
+        }
+
+        @Override
+        public String toString() {
+            return start + ":" + word;
+        }
+    }
 
     /**
      * 字符返回检查
@@ -32,7 +155,7 @@ public class Trie {
      * @return
      */
     private boolean checkVarilChar(char c){
-        if (c >= 'A' && c <= 'z'){
+        if (c >= MIN_CHAR && c <= MAX_CHAR){
             return true;
         }
         return false;
@@ -55,38 +178,30 @@ public class Trie {
                 return;
             }
         }
-        add(root.childs, strChar,0);
+        add(root, strChar,0);
+        built = false;
     }
 
-    private void add(HashSet<Node> nodes, char[] strChar, int i) {
+    private void add(Node parent, char[] strChar, int i) {
         if (i >= strChar.length){
             return;
         }
-        char value = strChar[i];
-
-        // 检查是否存在当前字符
-        Node retNode = null;
-        for (Node node:nodes) {
-            if (node.value.equals(value)){
-                retNode = node;
-                break;
-            }
-        }
-        // 不存在则创建，并放入上节点的子节点中
-        if (retNode == null){
-            retNode = new Node(value, false);
-            nodes.add(retNode);
-        }
+        // 检查是否存在当前字符，不存在则创建，并放入上节点的子节点中
+        Node retNode = parent.getOrAddChild(strChar[i]);
         // 更新字符计数
         retNode.count += 1;
+        retNode.depth = i + 1;
 
         // 继续处理后续字符
         if (i < strChar.length-1){
-            add(retNode.childs, strChar, i+1);
+            add(retNode, strChar, i+1);
         }else // 字符串最后一个字符
             if(i == strChar.length-1){
             retNode.isWord = true;
             retNode.wordCount += 1;
+            if (retNode.word == null){
+                retNode.word = new String(strChar);
+            }
         }
     }
 
@@ -104,38 +219,31 @@ public class Trie {
                 return false;
             }
         }
-        int wordCount = getWord(root.childs,strChar,0,true);
+        int wordCount = getWord(root,strChar,0,true);
         return wordCount > 0;
     }
 
     /**
      * 检查单词或前缀
-     * @param nodes
+     * @param parent
      * @param strChar
      * @param i
      * @param checkWord true-检查单词，false-检查前缀
      * @return
      */
-    private int getWord(HashSet<Node> nodes, char[] strChar, int i,boolean checkWord) {
+    private int getWord(Node parent, char[] strChar, int i,boolean checkWord) {
         if (i >= strChar.length){
             return 0;
         }
-        char value = strChar[i];
         // 检查是否存在当前字符
-        Node retNode = null;
-        for (Node node:nodes) {
-            if (node.value.equals(value)){
-                retNode = node;
-                break;
-            }
-        }
+        Node retNode = parent.getChild(strChar[i]);
         if (retNode == null){
             return 0;
         }else{
             if (i == strChar.length-1){
                 return checkWord?retNode.wordCount:retNode.count;
             }
-            return getWord(retNode.childs,strChar,i+1,checkWord);
+            return getWord(retNode,strChar,i+1,checkWord);
         }
     }
 
@@ -153,10 +261,134 @@ public class Trie {
                 return false;
             }
         }
-        int prefixCount = getWord(root.childs,strChar,0,false);
+        int prefixCount = getWord(root,strChar,0,false);
         return prefixCount > 0;
     }
 
+    /**
+     * 建立失配指针和输出指针
+     * 按层次遍历，子节点的失配指针由父节点的失配链得到：沿父节点失配链找到第一个有相同字符子节点的节点，指向该子节点，找不到则指向根
+     * 所有add完成后调用一次，O(总字符数*字符集)
+     */
+    public void build(){
+        root.fail = null;
+        root.output = null;
+        MyQueue<Node> queue = new MyQueue<>();// 队列，先进先出，从上往下处理
+        addChilds(queue, root);
+        while (!queue.isEmpty()){
+            addChilds(queue, queue.poll());
+        }
+        built = true;
+    }
+
+    /**
+     * 子节点放入队列，并设置子节点的失配指针和输出指针
+     * @param queue
+     * @param node
+     */
+    private void addChilds(MyQueue<Node> queue, Node node) {
+        if (node.childs == null){
+            return;
+        }
+        for (Node child : node.childs) {
+            if (child == null){
+                continue;
+            }
+            Node f = node.fail;
+            while (f != null && f.getChild(child.value) == null){
+                f = f.fail;
+            }
+            child.fail = f == null ? root : f.getChild(child.value);
+            child.output = child.fail.isWord ? child.fail : child.fail.output;
+            queue.offer(child);
+        }
+    }
+
+    /**
+     * 找出文本中所有单词出现的位置
+     * @param text
+     * @return
+     */
+    public Array<Match> search(String text){
+        Array<Match> matches = new Array<>();
+        search(text, (start, word) -> matches.insert(new Match(start, word)));
+        return matches;
+    }
+
+    /**
+     * 找出文本中所有单词出现的位置，每找到一个回调一次
+     * @param text
+     * @param handler
+     */
+    public void search(String text, MatchHandler handler){
+        Matcher matcher = matcher(handler);
+        matcher.feed(text);
+    }
+
+    /**
+     * 流式匹配器，文本可以分多段输入，跨段的单词也能找到
+     * @param handler
+     * @return
+     */
+    public Matcher matcher(MatchHandler handler){
+        if (!built){
+            throw new IllegalStateException("call build() after add");
+        }
+        return new Matcher(handler);
+    }
+
+    /**
+     * 流式匹配器，保存当前状态节点和已处理字符数
+     */
+    public class Matcher {
+        private final MatchHandler handler;
+        private Node state = root;
+        private long position = 0;
+
+        Matcher(MatchHandler handler){
+            this.handler = handler;
+        }
+
+        public void feed(CharSequence text){
+            for (int i = 0; i < text.length(); i++) {
+                next(text.charAt(i));
+            }
+        }
+
+        public void feed(char[] chunk, int offset, int length){
+            for (int i = offset; i < offset + length; i++) {
+                next(chunk[i]);
+            }
+        }
+
+        /**
+         * 已处理字符数
+         * @return
+         */
+        public long getPosition(){
+            return position;
+        }
+
+        private void next(char c){
+            position++;
+            // 不合法字符不会出现在任何单词中，直接回到根
+            if (!checkVarilChar(c)){
+                state = root;
+                return;
+            }
+            // 当前节点没有该字符的子节点，沿失配链回退
+            while (state != root && state.getChild(c) == null){
+                state = state.fail;
+            }
+            Node child = state.getChild(c);
+            state = child == null ? root : child;
+            // 当前节点及输出链上的单词都以当前字符结尾
+            for (Node node = state.isWord ? state : state.output; node != null; node = node.output) {
+                handler.onMatch(position - node.depth, node.word);
+            }
+        }
+    }
+
     @Override
     public String toString(){
         StringBuilder res = new StringBuilder();
@@ -166,12 +398,15 @@ public class Trie {
     }
 
     // 生成以node为根节点，深度为depth的描述二叉树的字符串
-    private void generateBSTString(HashSet<Node> childs, int depth, StringBuilder res){
+    private void generateBSTString(Node[] childs, int depth, StringBuilder res){
         if(childs == null){
             res.append(generateDepthString(depth) + "null\n");
             return;
         }
         for (Node node :childs) {
+            if (node == null){
+                continue;
+            }
             res.append(generateDepthString(depth) + node.value + "[count：" + node.count +",wordCount："+ node.wordCount +",isWord:"+node.isWord+"]\n");
             generateBSTString(node.childs, depth + 1, res);
         }
@@ -194,6 +429,14 @@ public class Trie {
         System.out.println(trie);
         System.out.println("---containsWord---" + trie.containsWord("cseefg"));
         System.out.println("---containsPrefixCount---" + trie.containsPrefixCount("csed"));
+
+        Trie keywords = new Trie();
+        String[] words = {"he", "she", "his", "hers"};
+        for (int i = 0; i < words.length; i++) {
+            keywords.add(words[i]);
+        }
+        keywords.build();
+        System.out.println("---search---" + keywords.search("ushers"));
     }
 
 }
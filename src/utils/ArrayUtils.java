@@ -1,6 +1,7 @@
 package utils;
 
 import linear.Array;
+import linear.IntArray;
 
 import java.util.Random;
 
@@ -43,6 +44,37 @@ public final class ArrayUtils {
         return array;
     }
 
+    /**
+     * 无序整型数组，不装箱
+     * @param size 数组大小
+     * @param bond 数据边界
+     * @return
+     */
+    public static IntArray genRandomInts(int size, int bond){
+
+        IntArray array = new IntArray(size);
+
+        for (int i = 0; i < size; i++) {
+            array.insert(random.nextInt(bond));
+        }
+
+        return array;
+    }
+
+    /**
+     * 有序整型数组，不装箱
+     * @param size
+     * @return
+     */
+    public static IntArray genOrderInts(int size){
+        IntArray array = new IntArray(size);
+
+        for (int i = 0; i < size; i++) {
+            array.insert(i);
+        }
+        return array;
+    }
+
     /**
      * 比较两个对象是否相等
      * @param o1
@@ -73,6 +105,42 @@ public final class ArrayUtils {
         array.set(i, value);
     }
 
+    /**
+     * 两下标值交换
+     * @param array
+     * @param k
+     * @param i
+     */
+    public static void swap(IntArray array, int k, int i) {
+        int value = array.get(k);
+        array.set(k, array.get(i));
+        array.set(i, value);
+    }
+
+    /**
+     * 底层数组两下标值交换，不做索引检查
+     * @param data
+     * @param k
+     * @param i
+     */
+    public static void swap(Object[] data, int k, int i) {
+        Object value = data[k];
+        data[k] = data[i];
+        data[i] = value;
+    }
+
+    /**
+     * 底层数组两下标值交换，不做索引检查
+     * @param data
+     * @param k
+     * @param i
+     */
+    public static void swap(int[] data, int k, int i) {
+        int value = data[k];
+        data[k] = data[i];
+        data[i] = value;
+    }
+
     /**
      * 复制数组
      * @param src 源
@@ -116,4 +184,17 @@ public final class ArrayUtils {
         }
         System.out.println("数组已排序");
     }
+
+    /**
+     * 验证数组是否已排序
+     * @param array
+     */
+    public static void checkOrder(IntArray array){
+        for (int i = 0; i < array.getSize()-1; i++) {
+            if (array.get(i) > array.get(i+1)){
+                throw new RuntimeException("数组未完成排序");
+            }
+        }
+        System.out.println("数组已排序");
+    }
 }
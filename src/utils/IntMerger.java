@@ -0,0 +1,15 @@
+package utils;
+
+/**
+ * int聚集函数，Merger的基本类型版本，避免装箱
+ */
+public interface IntMerger {
+
+    IntMerger SUM = (a, b) -> a + b;
+
+    IntMerger MIN = Math::min;
+
+    IntMerger MAX = Math::max;
+
+    int merge(int a, int b);
+}
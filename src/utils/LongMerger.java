@@ -0,0 +1,9 @@
+package utils;
+
+/**
+ * long聚集函数，Merger的基本类型版本，避免装箱
+ */
+public interface LongMerger {
+
+    long merge(long a, long b);
+}
@@ -0,0 +1,85 @@
+package utils;
+
+/**
+ * 支持区间修改的聚集函数
+ * 除合并两个聚集值外，还需知道整段区间加上或赋为同一个值后聚集值如何变化，用于懒标记
+ */
+public interface RangeMerger extends LongMerger {
+
+    /**
+     * 区间和
+     */
+    RangeMerger SUM = new RangeMerger() {
+        @Override
+        public long merge(long a, long b) {
+            return a + b;
+        }
+
+        @Override
+        public long add(long value, long delta, int length) {
+            return value + delta * length;
+        }
+
+        @Override
+        public long assign(long value, int length) {
+            return value * length;
+        }
+    };
+
+    /**
+     * 区间最小值
+     */
+    RangeMerger MIN = new RangeMerger() {
+        @Override
+        public long merge(long a, long b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        public long add(long value, long delta, int length) {
+            return value + delta;
+        }
+
+        @Override
+        public long assign(long value, int length) {
+            return value;
+        }
+    };
+
+    /**
+     * 区间最大值
+     */
+    RangeMerger MAX = new RangeMerger() {
+        @Override
+        public long merge(long a, long b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        public long add(long value, long delta, int length) {
+            return value + delta;
+        }
+
+        @Override
+        public long assign(long value, int length) {
+            return value;
+        }
+    };
+
+    /**
+     * 区间内每个值加上delta后的聚集值
+     * @param value 原聚集值
+     * @param delta
+     * @param length 区间长度
+     * @return
+     */
+    long add(long value, long delta, int length);
+
+    /**
+     * 区间内每个值都赋为value后的聚集值
+     * @param value
+     * @param length 区间长度
+     * @return
+     */
+    long assign(long value, int length);
+}